@@ -0,0 +1,72 @@
+package benchmarks;
+
+import analysis.SinkAnalysis;
+import analysis.SinkAnalysisAggregator;
+import configs.DefaultSimConfig;
+import org.openjdk.jmh.annotations.*;
+import simulation.Simulator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Analysis of simulated days, the days themselves are simulated once before the measurements
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalysisBenchmark {
+
+    @Param({"10"})
+    public int days;
+
+    protected Simulator[] simulators;
+
+    protected SinkAnalysisAggregator aggregator;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.simulators = new Simulator[this.days];
+        this.aggregator = new SinkAnalysisAggregator("Consumer");
+
+        // simulators share the strategy of the configuration, so the days are simulated one after the other
+        for (int i = 0; i < this.days; i++) {
+            this.simulators[i] = new Simulator(DefaultSimConfig.withSeed(i));
+            this.simulators[i].run();
+            this.aggregator.add(this.simulators[i].consumerAnalysis());
+        }
+    }
+
+    /**
+     * Builds the statistics of a day and answers the queries the business constraints ask for
+     */
+    @Benchmark
+    public double day() {
+        SinkAnalysis analysis = this.simulators[0].consumerAnalysis();
+
+        return analysis.avgDailyQueueTime() + analysis.probabilityOfQueueTimeLessThan(5 * 60)
+                + analysis.avgQueueTimePerMinute()[0] + analysis.arrivalsPerHour()[0];
+    }
+
+    @Benchmark
+    public double[][] confidencePerMinute() {
+        return this.aggregator.calculateConfidenceQueueTimesPerMinute(0.99);
+    }
+
+    @Benchmark
+    public double[] probabilityWithConfidence() {
+        return this.aggregator.avgProbabilityQueueTimeLessThanWithConfidence(5 * 60, 0, 24 * 60 * 60, 0.99);
+    }
+
+    @Benchmark
+    public SinkAnalysisAggregator aggregate() {
+        SinkAnalysisAggregator aggregator = new SinkAnalysisAggregator("Consumer");
+        for (Simulator simulator : this.simulators) {
+            aggregator.add(simulator.consumerAnalysis());
+        }
+
+        return aggregator;
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks;
+
+import configs.ArrivalRatesConfig;
+import configs.SimulationConfig;
+import contracts.IArrivalRateFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampling the arrival times of a whole day.
+ * The consumer day is also sampled the way it was before the rate was bounded per interval, as a baseline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrivalBenchmark {
+
+    protected SplittableRandom rng = new SplittableRandom(1);
+
+    @Benchmark
+    public double[] consumerDay() {
+        return SimulationConfig.CONSUMER_ARRIVAL_RATE.sampleArrivalRates(this.rng);
+    }
+
+    @Benchmark
+    public double[] consumerDayAgainstPeak() {
+        return thinAgainstPeak(SimulationConfig.CONSUMER_ARRIVAL_RATE, this.rng);
+    }
+
+    @Benchmark
+    public double[] corporateDay() {
+        return SimulationConfig.CORPORATE_ARRIVAL_RATE.sampleArrivalRates(this.rng);
+    }
+
+    /**
+     * The former consumer sampler: thinning of candidates at the bound it used for the peak of the whole day,
+     * collected in lists of boxed times
+     */
+    protected static double[] thinAgainstPeak(IArrivalRateFactory rate, SplittableRandom rng) {
+        double period = ArrivalRatesConfig.CONSUMER_ARRIVAL_RATE_PERIOD * 60 * 60;
+        double bound = 2 * ArrivalRatesConfig.CONSUMER_AVG_MINUTE_ARRIVAL_RATE / 60 + ArrivalRatesConfig.CONSUMER_ARRIVAL_LOWEST_MINUTE_VALUE / 60;
+
+        ArrayList<Double> t = new ArrayList<>();
+        ArrayList<Double> s = new ArrayList<>();
+        t.add(0.0);
+        s.add(0.0);
+
+        int n = 0;
+        int m = 0;
+        while (s.get(m) < period) {
+            s.add(m + 1, s.get(m) - Math.log(rng.nextDouble()) / bound);
+
+            if (rng.nextDouble() < rate.getRate(s.get(m + 1)) / bound) {
+                t.add(n + 1, s.get(m + 1));
+                n++;
+            }
+            m++;
+        }
+
+        if (t.get(n) >= period)
+            t.remove(n);
+        t.remove(0);
+
+        return t.stream().mapToDouble(d -> d).toArray();
+    }
+}
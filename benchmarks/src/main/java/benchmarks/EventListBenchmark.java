@@ -0,0 +1,105 @@
+package benchmarks;
+
+import abstracts.AbstractEvent;
+import abstracts.AbstractEventFactory;
+import configs.DefaultSimConfig;
+import contracts.IEventList;
+import enums.EventListType;
+import enums.ProductType;
+import events.ProductCreatedEvent;
+import models.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The future event lists, in a hold model and draining all events of a day
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventListBenchmark {
+
+    /**
+     * Hold model: every operation takes the first event and schedules a new one an exponential time after it,
+     * so the amount of pending events stays the same
+     */
+    @Benchmark
+    public AbstractEvent hold(Hold state) {
+        AbstractEvent first = state.events.removeFirst();
+        state.events.add(new ProductCreatedEvent(first.getExecutionTime() + state.gap() * state.size, "BENCHMARK", state.product));
+        return first;
+    }
+
+    /**
+     * Inserts every event the sources of a day create up front and removes them in order
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int drain(Day state) {
+        IEventList list = state.type.create();
+        for (AbstractEvent event : state.events) {
+            list.addUnsorted(event);
+        }
+
+        int count = 0;
+        while (!list.empty()) {
+            list.removeFirst();
+            count++;
+        }
+
+        return count;
+    }
+
+    @State(Scope.Thread)
+    public static class Hold {
+
+        @Param({"HEAP", "CALENDAR"})
+        public EventListType type;
+
+        @Param({"100", "10000", "1000000"})
+        public int size;
+
+        protected IEventList events;
+
+        protected Product product = new Product(ProductType.CONSUMER);
+
+        protected SplittableRandom rng = new SplittableRandom(1);
+
+        @Setup(Level.Trial)
+        public void setup() {
+            this.events = this.type.create();
+            for (int i = 0; i < this.size; i++) {
+                this.events.add(new ProductCreatedEvent(this.gap() * this.size, "BENCHMARK", this.product));
+            }
+        }
+
+        protected double gap() {
+            return -Math.log(1 - this.rng.nextDouble());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Day {
+
+        @Param({"HEAP", "CALENDAR"})
+        public EventListType type;
+
+        protected List<AbstractEvent> events = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            DefaultSimConfig config = DefaultSimConfig.withSeed(1);
+            for (AbstractEventFactory source : config.getSources(config.getRandomStreams())) {
+                for (AbstractEvent event : source.build()) {
+                    this.events.add(event);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package benchmarks;
+
+import enums.AgentShift;
+import enums.MachineType;
+import enums.ProductType;
+import models.CallAgent;
+import models.Machine;
+import models.Product;
+import models.Queue;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Every operation an agent finishes its call and asks for the next one, after which that call arrives again.
+ * With calls waiting the agent takes the longest waiting one and the call joins the line,
+ * without waiting calls the agent goes idle and takes the call when it arrives.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueueBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int agents;
+
+    @Param({"0", "100", "10000"})
+    public int waiting;
+
+    protected Queue queue;
+
+    protected Machine[] machines;
+
+    protected int next = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.queue = new Queue();
+        this.machines = new Machine[this.agents];
+
+        // half of the agents are corporate agents, which take both call types
+        for (int i = 0; i < this.agents; i++) {
+            this.machines[i] = new CallAgent(i % 2 == 0 ? MachineType.CONSUMER : MachineType.CORPORATE, AgentShift.MORNING, i);
+            this.queue.assign(this.machines[i]);
+        }
+
+        // every agent starts with a call of its own type, so none of them is idle
+        for (Machine machine : this.machines) {
+            this.queue.add(new Product(machine.getType().isConsumer() ? ProductType.CONSUMER : ProductType.CORPORATE));
+        }
+
+        // every third waiting call is a corporate one
+        for (int i = 0; i < this.waiting; i++) {
+            this.queue.add(new Product(i % 3 == 0 ? ProductType.CORPORATE : ProductType.CONSUMER));
+        }
+    }
+
+    @Benchmark
+    public Machine finishAndArrive() {
+        Machine machine = this.machines[this.next];
+        this.next = this.next + 1 == this.machines.length ? 0 : this.next + 1;
+
+        Product finished = machine.getProduct();
+        machine.setIdle();
+        this.queue.ask(machine);
+
+        return this.queue.add(finished);
+    }
+}
@@ -0,0 +1,91 @@
+package benchmarks;
+
+import configs.ServiceTimesConfig;
+import factories.ServiceTimeFactory;
+import org.openjdk.jmh.annotations.*;
+import statistics.LeftTruncatedNormalDistribution;
+import statistics.NormalDistribution;
+import statistics.PoissonDistribution;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single draws and buffered draws of the service times and of the distributions behind them
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ServiceTimeBenchmark {
+
+    public static final int BUFFER = 1024;
+
+    protected ServiceTimeFactory consumer;
+
+    protected ServiceTimeFactory corporate;
+
+    protected NormalDistribution normal;
+
+    protected LeftTruncatedNormalDistribution tail;
+
+    protected double[] buffer = new double[BUFFER];
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SplittableRandom rng = new SplittableRandom(1);
+
+        this.consumer = new ServiceTimeFactory(ServiceTimesConfig.CONSUMER_SERVICE_TIME_MEAN, ServiceTimesConfig.CONSUMER_SERVICE_TIME_STD, ServiceTimesConfig.CONSUMER_SERVICE_TIME_TRUNC_LEFT, rng.split());
+        this.corporate = new ServiceTimeFactory(ServiceTimesConfig.CORPORATE_SERVICE_TIME_MEAN, ServiceTimesConfig.CORPORATE_SERVICE_TIME_STD, ServiceTimesConfig.CORPORATE_SERVICE_TIME_TRUNC_LEFT, rng.split());
+        this.normal = new NormalDistribution(0, 1, rng.split());
+
+        // truncated far in the tail, which is sampled with exponential proposals
+        this.tail = new LeftTruncatedNormalDistribution(0, 1, 3, rng.split());
+    }
+
+    @Benchmark
+    public double consumerServiceTime() {
+        return this.consumer.getDistribution().nextDouble();
+    }
+
+    @Benchmark
+    public double corporateServiceTime() {
+        return this.corporate.getDistribution().nextDouble();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BUFFER)
+    public double[] consumerServiceTimes() {
+        this.consumer.getDistribution().fill(this.buffer, 0, BUFFER);
+        return this.buffer;
+    }
+
+    @Benchmark
+    public double normal() {
+        return this.normal.nextDouble();
+    }
+
+    @Benchmark
+    public double truncatedTail() {
+        return this.tail.nextDouble();
+    }
+
+    @Benchmark
+    public int poisson(Poisson state) {
+        return state.distribution.nextInt(state.mean);
+    }
+
+    @State(Scope.Thread)
+    public static class Poisson {
+
+        /**
+         * Means below and above the switch from inversion to PTRS
+         */
+        @Param({"4", "100"})
+        public double mean;
+
+        protected PoissonDistribution distribution = new PoissonDistribution(0, new SplittableRandom(1));
+    }
+}
@@ -0,0 +1,59 @@
+package benchmarks;
+
+import configs.DefaultSimConfig;
+import enums.EventListType;
+import enums.SinkType;
+import org.openjdk.jmh.annotations.*;
+import simulation.Simulator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A full simulation day, every invocation simulates a day of another seed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulatorBenchmark {
+
+    @Param({"HEAP", "CALENDAR"})
+    public EventListType eventList;
+
+    @Param({"PRODUCTS", "STATISTICS"})
+    public SinkType sink;
+
+    protected long seed = 0;
+
+    @Benchmark
+    public Simulator day() {
+        Simulator simulator = new Simulator(new BenchmarkConfig(this.seed++, this.eventList, this.sink));
+        simulator.run();
+
+        return simulator;
+    }
+
+    protected static class BenchmarkConfig extends DefaultSimConfig {
+        protected final EventListType eventList;
+
+        protected final SinkType sink;
+
+        protected BenchmarkConfig(long seed, EventListType eventList, SinkType sink) {
+            this.setSeed(seed);
+            this.eventList = eventList;
+            this.sink = sink;
+        }
+
+        @Override
+        public EventListType getEventListType() {
+            return this.eventList;
+        }
+
+        @Override
+        public SinkType getSinkType() {
+            return this.sink;
+        }
+    }
+}
@@ -6,6 +6,7 @@ import configs.DefaultSimConfig;
 import configs.SimulationConfig;
 import contracts.ISimulationConfig;
 import simulation.QueueWarmup;
+import simulation.ReplicationRunner;
 import simulation.Simulator;
 
 import java.text.DecimalFormat;
@@ -24,6 +25,8 @@ public class Simulation {
 
     protected boolean analysis = false;
 
+    protected boolean parallel = false;
+
     public Simulation(ISimulationConfig config) {
         this.config = config;
     }
@@ -39,6 +42,13 @@ public class Simulation {
         this.queueWarmup = warmupQueue;
     }
 
+    public Simulation(ISimulationConfig config, boolean analysis, boolean warmupQueue, boolean parallel) {
+        this.config = config;
+        this.analysis = analysis;
+        this.queueWarmup = warmupQueue;
+        this.parallel = parallel;
+    }
+
     public void run() {
         if (this.queueWarmup) {
             this.warmUpQueue();
@@ -55,6 +65,25 @@ public class Simulation {
         //log start time of simulation
         this.simulationStartTime = System.nanoTime();
 
+        if (this.parallel)
+            this.runReplications();
+        else
+            this.runSequential();
+
+        //log end time of simulation
+        this.simulationEndTime = System.nanoTime();
+        this.printSimulationInfo();
+
+        if (this.analysis)
+            this.analysis();
+
+        System.out.println("Total daily call center cost: " + AgentDailyCostCalculator.totalCost() + "€");
+    }
+
+    /**
+     * Runs the days one after another, every day starts with the queue of the previous day
+     */
+    protected void runSequential() {
         for (int i = 0; i < this.config.getIterations(); i++) {
 
             //Start a new simulation and run it
@@ -70,15 +99,21 @@ public class Simulation {
 
             System.out.println("Finished iteration: " + i);
         }
+    }
 
-        //log end time of simulation
-        this.simulationEndTime = System.nanoTime();
-        this.printSimulationInfo();
+    /**
+     * Runs the days as independent replications on all cores, every day starts from the same (warmed up) queue
+     */
+    protected void runReplications() {
+        Simulator[] simulators = new ReplicationRunner(this.config).run();
 
-        if (this.analysis)
-            this.analysis();
+        //Adding the data in replication order keeps the aggregators deterministic
+        for (Simulator sim : simulators) {
+            this.consumer.add(sim.consumerAnalysis());
+            this.corporate.add(sim.corporateAnalysis());
+        }
 
-        System.out.println("Total daily call center cost: " + AgentDailyCostCalculator.totalCost() + "€");
+        System.out.println("Finished " + simulators.length + " replications");
     }
 
     public void warmUpQueue() {
@@ -117,7 +152,7 @@ public class Simulation {
      */
     public static void main(String[] args) {
         //initialize a default simulation config (the simulation will run with the parameters defined in the config files)
-        (new Simulation(new DefaultSimConfig(), AnalysisConfig.PERFORM_ANALYSIS, SimulationConfig.WARMUP_QUEUE)).run();
+        (new Simulation(new DefaultSimConfig(), AnalysisConfig.PERFORM_ANALYSIS, SimulationConfig.WARMUP_QUEUE, SimulationConfig.PARALLEL_REPLICATIONS)).run();
     }
 
 }
@@ -5,12 +5,17 @@ public abstract class AbstractEvent {
     /** The time on which the event will be executed */
     private final double executionTime;
 
+    /** Type code of the event, see enums.EventType */
+    private final int type;
+
     /**
      *	Constructor for objects
      *    @param tme    The time on which the event will be executed
+     *    @param type   The type code of the event
      */
-    public AbstractEvent(double tme) {
+    public AbstractEvent(double tme, int type) {
         this.executionTime = tme;
+        this.type = type;
     }
 
     /**
@@ -20,4 +25,12 @@ public abstract class AbstractEvent {
     public double getExecutionTime() {
         return this.executionTime;
     }
+
+    /**
+     *	Method to ask the type code of the event
+     *    @return The type code that selects the listeners of this event
+     */
+    public int getType() {
+        return this.type;
+    }
 }
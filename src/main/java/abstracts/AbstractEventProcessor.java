@@ -1,10 +1,19 @@
 package abstracts;
 
 import configs.SimulationConfig;
+import contracts.IEventList;
 import contracts.IEventProcessor;
+import contracts.IListener;
+import enums.EventType;
 import events.SimulationStoppedEvent;
+import listeners.ScheduleNextArrivalListener;
 import listeners.SimulationStoppedListener;
 import models.CEventList;
+import statistics.EventLoopMonitor;
+import statistics.EventLoopRecorder;
+import statistics.LatencyHistogram;
+
+import java.util.Arrays;
 
 public abstract class AbstractEventProcessor implements IEventProcessor {
 
@@ -21,24 +30,121 @@ public abstract class AbstractEventProcessor implements IEventProcessor {
     /**
      * The list object with events
      */
-    protected final CEventList events = new CEventList();
+    protected final IEventList events;
+
+    /**
+     * Listeners per event type code, in order of registration
+     */
+    protected IListener<?>[][] listeners = new IListener<?>[EventType.CUSTOM][0];
+
+    /**
+     * Monitor the event loop reports to, null when the event loop is not instrumented
+     */
+    protected final EventLoopMonitor monitor;
+
+    public AbstractEventProcessor() {
+        this(new CEventList());
+    }
+
+    public AbstractEventProcessor(IEventList events) {
+        this(events, null);
+    }
+
+    public AbstractEventProcessor(IEventList events, EventLoopMonitor monitor) {
+        this.events = events;
+        this.monitor = monitor;
+
+        this.register(EventType.SIMULATION_STOPPED, new SimulationStoppedListener(this));
+        this.register(EventType.PRODUCT_CREATED, new ScheduleNextArrivalListener(this.events));
+    }
 
     /**
      * IMPORTANT METHOD!
      * All the events are caught and processed here.
+     * The listeners are looked up by the type code of the event.
      */
     protected void process(AbstractEvent event) {
-        if (event instanceof SimulationStoppedEvent) {
-            (new SimulationStoppedListener(this)).handle((SimulationStoppedEvent) event);
+        int type = event.getType();
+
+        if (type >= this.listeners.length)
+            return;
+
+        for (IListener<?> listener : this.listeners[type]) {
+            handle(listener, event);
+        }
+    }
+
+    /**
+     * Same as process, but times every listener into its latency histogram.
+     * Listeners registered after the histograms were looked up are not timed.
+     */
+    protected void process(AbstractEvent event, LatencyHistogram[][] latencies) {
+        int type = event.getType();
+
+        if (type >= latencies.length || latencies[type].length != this.listeners[type].length) {
+            this.process(event);
+            return;
+        }
+
+        IListener<?>[] listeners = this.listeners[type];
+        for (int i = 0; i < listeners.length; i++) {
+            long start = System.nanoTime();
+            handle(listeners[i], event);
+            latencies[type][i].add(System.nanoTime() - start);
         }
     }
 
+    /**
+     * Listeners are only handed events of the type code they were registered for, so the cast always holds
+     */
+    @SuppressWarnings("unchecked")
+    protected static void handle(IListener<?> listener, AbstractEvent event) {
+        ((IListener<AbstractEvent>) listener).handle(event);
+    }
+
+    /**
+     * Latency histograms of the registered listeners, in the same layout as the listeners
+     */
+    protected LatencyHistogram[][] latencies(EventLoopMonitor monitor) {
+        LatencyHistogram[][] latencies = new LatencyHistogram[this.listeners.length][];
+        for (int type = 0; type < this.listeners.length; type++) {
+            latencies[type] = new LatencyHistogram[this.listeners[type].length];
+            for (int i = 0; i < latencies[type].length; i++) {
+                latencies[type][i] = monitor.histogram(type, this.listeners[type][i]);
+            }
+        }
+
+        return latencies;
+    }
+
+    /**
+     * Registers a listener that will handle every event with the given type code
+     */
+    @Override
+    public void register(int type, IListener<? extends AbstractEvent> listener) {
+        if (type >= this.listeners.length) {
+            int length = this.listeners.length;
+            this.listeners = Arrays.copyOf(this.listeners, type + 1);
+            for (int i = length; i < this.listeners.length; i++) {
+                this.listeners[i] = new IListener<?>[0];
+            }
+        }
+
+        IListener<?>[] registered = Arrays.copyOf(this.listeners[type], this.listeners[type].length + 1);
+        registered[registered.length - 1] = listener;
+        this.listeners[type] = registered;
+    }
+
+    public void register(EventType type, IListener<? extends AbstractEvent> listener) {
+        this.register(type.getId(), listener);
+    }
+
     @Override
     public void addEvent(AbstractEvent event) {
         this.getEvents().addUnsorted(event);
     }
 
-    protected CEventList getEvents() {
+    protected IEventList getEvents() {
         return this.events;
     }
 
@@ -52,25 +158,36 @@ public abstract class AbstractEventProcessor implements IEventProcessor {
         //This will stop the simulation after 24 hours
         this.getEvents().add(new SimulationStoppedEvent(SimulationConfig.SIMULATION_RUNTIME));
 
-        // stop criterion
-        while ((this.getEvents().count() > 0) && (!this.stopFlag)) {
+        // looked up once, so a loop that is not instrumented only pays a null check per event
+        EventLoopRecorder recorder = this.monitor == null ? null : this.monitor.open();
+        LatencyHistogram[][] latencies = recorder == null ? null : this.latencies(this.monitor);
 
-            AbstractEvent event = this.getEvents().removeFirst();
+        try {
+            // stop criterion
+            while ((this.getEvents().count() > 0) && (!this.stopFlag)) {
 
-            //event equal null means no events are left
-            if (event == null) {
-                return;
-            }
+                AbstractEvent event = this.getEvents().removeFirst();
 
-            // Make the simulation time equal to the execution time of the first event in the list that has to be processed
-            this.currentTime = event.getExecutionTime();
+                //event equal null means no events are left
+                if (event == null) {
+                    return;
+                }
 
-/*            if(this.currentTime >79000) {
-                String breakpoint = "test";
-            }*/
+                // Make the simulation time equal to the execution time of the first event in the list that has to be processed
+                double previousTime = this.currentTime;
+                this.currentTime = event.getExecutionTime();
 
-            // Let the event be processed by the eventprocessor and remove it from the eventlist
-            this.process(event);
+                // Let the event be processed by the eventprocessor and remove it from the eventlist
+                if (recorder == null) {
+                    this.process(event);
+                } else {
+                    recorder.processed(event.getType(), Math.max(0, this.currentTime - previousTime), this.getEvents().count());
+                    this.process(event, latencies);
+                }
+            }
+        } finally {
+            if (recorder != null)
+                this.monitor.close(recorder);
         }
 
         if (SimulationConfig.DEBUG) {
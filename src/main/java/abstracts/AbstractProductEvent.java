@@ -8,8 +8,8 @@ public class AbstractProductEvent extends AbstractEvent {
 
     protected String station;
 
-    public AbstractProductEvent(double time, String station, Product product) {
-        super(time);
+    public AbstractProductEvent(double time, int type, String station, Product product) {
+        super(time, type);
 
         this.station = station;
         this.product = product;
@@ -2,21 +2,55 @@ package abstracts;
 
 import contracts.IQueue;
 import contracts.IStrategy;
-import models.Machine;
 import models.Product;
 
-public abstract class AbstractStrategy implements IStrategy {
+import java.util.SplittableRandom;
+
+public abstract class AbstractStrategy implements IStrategy, Cloneable {
     protected IQueue consumerQueue;
     protected IQueue corporateQueue;
 
+    /**
+     * Stream the strategy draws from, set from the random streams of the simulation, null until then
+     */
+    protected SplittableRandom rng;
+
     @Override
     public void setQueues(IQueue consumerQueue, IQueue corporateQueue) {
         this.consumerQueue = consumerQueue;
         this.corporateQueue = corporateQueue;
     }
 
+    @Override
+    public void setRandomStream(SplittableRandom rng) {
+        this.rng = rng;
+    }
+
+    @Override
+    public IStrategy copy() {
+        try {
+            AbstractStrategy strategy = (AbstractStrategy) this.clone();
+            strategy.setQueues(null, null);
+            // the simulation the copy is used in assigns it a stream of its own
+            strategy.setRandomStream(null);
+            return strategy;
+        } catch (CloneNotSupportedException e) {
+            throw new RuntimeException("strategy cannot be copied", e);
+        }
+    }
+
+    /**
+     * The random stream of the strategy, failing when the simulation did not set one
+     */
+    protected SplittableRandom random() {
+        if (this.rng == null)
+            throw new RuntimeException("strategy has no random stream, set one from the random streams of the simulation");
+
+        return this.rng;
+    }
+
     public int productInConsumerQueue() {
-        return consumerQueue.getQueue().size();
+        return this.consumerQueue.count();
     }
 
     public boolean corporateAgentsBusy() {
@@ -28,54 +62,31 @@ public abstract class AbstractStrategy implements IStrategy {
     }
 
     public int totalConsumerAgents() {
-        int count = 0;
-
-        for (Machine machine : this.consumerQueue.getMachines()) {
-            if (machine.isOperational())
-                count++;
-        }
-        return count;
+        return this.consumerQueue.countOperationalMachines();
     }
 
     public int totalCorporateAgents() {
-        int count = 0;
-
-        for (Machine machine : this.corporateQueue.getMachines()) {
-            if (machine.isOperational())
-                count++;
-        }
-        return count;
+        return this.corporateQueue.countOperationalMachines();
     }
 
     public int availableConsumerAgents() {
-        int count = 0;
-
-        for (Machine machine : this.consumerQueue.getMachines()) {
-            if (machine.isOperational() && machine.isIdle())
-                count++;
-        }
-        return count;
+        return this.consumerQueue.countIdleMachines();
     }
 
     public int availableCorporateAgents() {
-        int count = 0;
-
-        for (Machine machine : this.corporateQueue.getMachines()) {
-            if (machine.isOperational() && machine.isIdle())
-                count++;
-        }
-        return count;
+        return this.corporateQueue.countIdleMachines();
     }
 
+    /**
+     * Time the longest waiting consumer has been in the queue, -1 if nobody is waiting.
+     * The queue is FIFO, so this is the first product in line.
+     */
     protected double getMaxConsumerQueueTime(double currentTime) {
-        double max = -1;
+        Product first = this.consumerQueue.first();
 
-        for (Product product : this.consumerQueue.getQueue()) {
-            double queueTime = currentTime - product.getArrivalTime() ;
+        if (first == null)
+            return -1;
 
-            if (queueTime > max)
-                max = queueTime;
-        }
-        return max;
+        return currentTime - first.getArrivalTime();
     }
 }
@@ -0,0 +1,88 @@
+package analysis;
+
+import configs.SimulationConfig;
+import models.Product;
+
+import java.util.Arrays;
+
+/**
+ * Statistics of a day of which all products are known.
+ * Next to the per-minute series it keeps the arrival and queue time of every product, bucketed on the minute of arrival,
+ * so queue time probabilities can be answered exactly for any time range.
+ */
+public class ProductIndex extends StreamingStatistics {
+
+    protected double[] arrivalTimes = new double[1024];
+    protected double[] productQueueTimes = new double[1024];
+    protected int size = 0;
+
+    /**
+     * Offset of the first product of every minute in the sorted columns, built on the first query
+     */
+    protected int[] minuteOffsets;
+
+    @Override
+    public void addUnfinished(Product product) {
+        super.addUnfinished(product);
+
+        double arrival = product.backTrackTimeForAnalysis(product.getArrivalTime());
+
+        if (arrival >= SimulationConfig.SIMULATION_RUNTIME)
+            return;
+
+        if (this.size == this.arrivalTimes.length) {
+            int capacity = Math.max(1024, this.size << 1);
+            this.arrivalTimes = Arrays.copyOf(this.arrivalTimes, capacity);
+            this.productQueueTimes = Arrays.copyOf(this.productQueueTimes, capacity);
+        }
+
+        this.arrivalTimes[this.size] = arrival;
+        this.productQueueTimes[this.size] = product.getQueueTime();
+        this.size++;
+        this.minuteOffsets = null;
+    }
+
+    @Override
+    public double probabilityOfQueueTimeAtMost(double duration, double startTime, double endTime) {
+        if (this.minuteOffsets == null)
+            this.sortOnMinute();
+
+        int fromMinute = Math.max(0, (int) (startTime / 60));
+        int toMinute = Math.min(MINUTES, (int) Math.ceil(endTime / 60));
+
+        double count = 0;
+        double totalCount = 0;
+        for (int i = this.minuteOffsets[fromMinute]; i < this.minuteOffsets[toMinute]; i++) {
+            if (this.arrivalTimes[i] >= startTime && this.arrivalTimes[i] < endTime) {
+                if (this.productQueueTimes[i] <= duration)
+                    count++;
+                totalCount++;
+            }
+        }
+        return count / totalCount;
+    }
+
+    /**
+     * Counting sort of the columns on the minute of arrival, the arrivals per minute are already known
+     */
+    protected void sortOnMinute() {
+        int[] offsets = new int[MINUTES + 1];
+        for (int m = 0; m < MINUTES; m++) {
+            offsets[m + 1] = offsets[m] + this.arrivals[m];
+        }
+
+        int[] next = Arrays.copyOf(offsets, MINUTES);
+        double[] arrivalTimes = new double[this.size];
+        double[] queueTimes = new double[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            int position = next[(int) (this.arrivalTimes[i] / 60)]++;
+            arrivalTimes[position] = this.arrivalTimes[i];
+            queueTimes[position] = this.productQueueTimes[i];
+        }
+
+        this.arrivalTimes = arrivalTimes;
+        this.productQueueTimes = queueTimes;
+        this.minuteOffsets = offsets;
+    }
+}
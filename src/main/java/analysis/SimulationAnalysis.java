@@ -3,11 +3,15 @@ package analysis;
 import configs.AnalysisConfig;
 import configs.BusinessConstraintsConfig;
 import configs.SimulationConfig;
-import contracts.Distribution;
-import factories.ConsumerArrivalTimeFactory;
+import contracts.DoubleDistribution;
+import contracts.IArrivalRateFactory;
+import enums.ProductType;
+import factories.ServiceTimeFactory;
 import statistics.ChiSquaredTest;
+import statistics.StreamingFitTest;
 
 import java.text.DecimalFormat;
+import java.util.SplittableRandom;
 
 public class SimulationAnalysis {
 
@@ -20,11 +24,19 @@ public class SimulationAnalysis {
     }
 
     public void execute() {
-        this.compareConsumerArrivalRateDistributions(consumer.countArrivalsPerMinute(),"consumer");
-        this.compareConsumerArrivalRateDistributions(corporate.countArrivalsPerMinute(), "corporate");
-
-        this.compareServiceTimeDistributions(consumer.avgServiceTimeFrequencies(), SimulationConfig.CONSUMER_SERVICE_DISTRIBUTION, "Consumer");
-        this.compareServiceTimeDistributions(corporate.avgServiceTimeFrequencies(),SimulationConfig.CORPORATE_SERVICE_DISTRIBUTION, "Corporate");
+        this.compareArrivalRateDistributions(consumer.countArrivalsPerMinute(), consumer.count(), SimulationConfig.CONSUMER_ARRIVAL_RATE, "consumer");
+        this.compareArrivalRateDistributions(corporate.countArrivalsPerMinute(), corporate.count(), SimulationConfig.CORPORATE_ARRIVAL_RATE, "corporate");
+
+        // only the distribution functions are used, nothing is drawn from the stream
+        this.compareServiceTimeDistributions(consumer.avgServiceTimeFrequencies(), ServiceTimeFactory.of(ProductType.CONSUMER, new SplittableRandom(0)).getDistribution(), "Consumer");
+        this.compareServiceTimeDistributions(corporate.avgServiceTimeFrequencies(), ServiceTimeFactory.of(ProductType.CORPORATE, new SplittableRandom(0)).getDistribution(), "Corporate");
+
+        if (AnalysisConfig.VALIDATE_INPUT_MODELS) {
+            this.printFit(consumer.getServiceTimeFit(), "Consumer Service Time");
+            this.printFit(corporate.getServiceTimeFit(), "Corporate Service Time");
+            this.printFit(consumer.getArrivalFit(), "Consumer Inter-Arrival Time");
+            this.printFit(corporate.getArrivalFit(), "Corporate Inter-Arrival Time");
+        }
 
         if (AnalysisConfig.ANALYZE_BUSINESS_CONSTRAINTS)
             this.analyzeBusinessConstraints();
@@ -45,26 +57,26 @@ public class SimulationAnalysis {
         }
     }
 
-    public void compareServiceTimeDistributions(double[] frequencies, Distribution<Double> distribution, String type) {
-        int total = 0;
-        for (int i = 0; i < 1000; i++) {
+    /**
+     * Chi square of the service time frequencies per second against the probability of every second under the distribution,
+     * the last bin holds all longer service times
+     */
+    public void compareServiceTimeDistributions(double[] frequencies, DoubleDistribution distribution, String type) {
+        double total = 0;
+        for (int i = 0; i < frequencies.length; i++) {
             total += frequencies[i];
         }
 
         double[] expected = new double[frequencies.length];
-        for (int i = 0; i < total; i++) {
-            Double sample = distribution.sample();
-            int rounded = (int) (sample - (sample % 1));
-            expected[rounded]++;
+        for (int i = 0; i < expected.length - 1; i++) {
+            expected[i] = total * (distribution.cdf(i + 1) - distribution.cdf(i));
         }
+        expected[expected.length - 1] = total * (1 - distribution.cdf(expected.length - 1));
 
-
-        for (int i = 0; i < 1000; i++) {
-            double expectedValue = expected[i];
-            double observedValue = frequencies[i];
-            if (expectedValue < 1)
+        for (int i = 0; i < expected.length; i++) {
+            if (expected[i] < 1)
                 expected[i] = 1;
-            if (observedValue < 1)
+            if (frequencies[i] < 1)
                 frequencies[i] = 1;
         }
 
@@ -73,25 +85,14 @@ public class SimulationAnalysis {
         System.out.println(type +" Service Time Distribution check Chi Square: " + 1 /test.chiSquare(expected, frequencies));
     }
 
-    public void compareConsumerArrivalRateDistributions(double[] observed, String type){
-        ConsumerArrivalTimeFactory factory = (ConsumerArrivalTimeFactory) SimulationConfig.CONSUMER_ARRIVAL_RATE;
-
-        double[] expectedRates = new double[24*60];
-
-       for(int i=0; i<SimulationConfig.SIMULATION_COUNT; i++){
-           double[] rates = factory.sampleArrivalRates();
-           for(int t=0; t<rates.length; t++) {
-               double arrivalTime = rates[t];
-               int minute = (int) ((arrivalTime - (arrivalTime %60))/60);
-               expectedRates[minute]++;
-           }
-
-       }
+    /**
+     * Chi square of the arrivals per minute, summed over all simulated days, against the integral of the arrival rate over every minute
+     */
+    public void compareArrivalRateDistributions(double[] observed, int days, IArrivalRateFactory factory, String type) {
+        double[] expectedRates = new double[24 * 60];
 
         for (int i = 0; i < expectedRates.length; i++) {
-            double expectedValue = expectedRates[i];
-            if (expectedValue < 1)
-                expectedRates[i] = 1;
+            expectedRates[i] = Math.max(1, days * factory.expectedArrivals(60 * i, 60 * (i + 1)));
         }
 
         ChiSquaredTest test = new ChiSquaredTest();
@@ -99,6 +100,20 @@ public class SimulationAnalysis {
         System.out.println(type + " Arrival Rate Distribution check Chi Square: " + 1 /test.chiSquare(expectedRates, observed));
     }
 
+    /**
+     * Prints the Kolmogorov-Smirnov and Anderson-Darling statistics collected while the simulation ran
+     */
+    public void printFit(StreamingFitTest fit, String type) {
+        if (fit.count() == 0)
+            return;
+
+        DecimalFormat format = new DecimalFormat("0.0000");
+        System.out.println(type + " Distribution check (" + fit.count() + " samples)"
+                + " KS: " + format.format(fit.kolmogorovSmirnov()) + " (p " + format.format(fit.kolmogorovSmirnovPValue()) + ")"
+                + " AD: " + format.format(fit.andersonDarling())
+                + " - " + (fit.rejects() ? "REJECTED" : "FITS") + " at 5%");
+    }
+
     public void analyzeBusinessConstraints() {
 
         double confidence = AnalysisConfig.MIN_BUSINESS_CONSTRAINT_CONFIDENCE;
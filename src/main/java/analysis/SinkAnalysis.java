@@ -3,31 +3,105 @@ package analysis;
 import charts.HistogramChart;
 import configs.ServiceTimesConfig;
 import configs.SimulationConfig;
-import contracts.Aggregate;
 import contracts.IQueue;
+import contracts.ProductAcceptor;
 import enums.ProductType;
 import models.Machine;
 import models.Product;
 import models.Sink;
+import models.StatisticsSink;
+import statistics.StreamingFitTest;
 
 import java.util.ArrayList;
 
+/**
+ * Analysis of one simulation day of one product type.
+ * All queries are answered from statistics bucketed on the minute of arrival, which are collected in a single pass
+ * over the products of the sink, the queue and the busy agents the first time they are needed.
+ */
 public class SinkAnalysis {
+    /**
+     * Products of the sink, null for a sink that does not keep its products
+     */
     protected ArrayList<Product> products;
 
+    protected StreamingStatistics statistics;
+
     protected IQueue queue;
 
     protected String productType;
 
-    public SinkAnalysis(Sink sink, IQueue endQueue, String productType) {
-        this.products = sink.getProducts();
+    /**
+     * Input model fits of the day, null when the input models were not validated
+     */
+    protected StreamingFitTest serviceTimeFit;
+
+    protected StreamingFitTest arrivalFit;
+
+    public SinkAnalysis(ProductAcceptor sink, IQueue endQueue, String productType) {
         this.queue = endQueue;
         this.productType = productType;
+
+        if (sink instanceof StatisticsSink)
+            this.statistics = this.withUnfinishedProducts(((StatisticsSink) sink).getStatistics().copy());
+        else
+            this.products = ((Sink) sink).getProducts();
     }
 
+    public SinkAnalysis(ProductAcceptor sink, IQueue endQueue, String productType, StreamingFitTest serviceTimeFit, StreamingFitTest arrivalFit) {
+        this(sink, endQueue, productType);
+        this.serviceTimeFit = serviceTimeFit;
+        this.arrivalFit = arrivalFit;
+    }
+
+    public StreamingFitTest getServiceTimeFit() {
+        return serviceTimeFit;
+    }
+
+    public StreamingFitTest getArrivalFit() {
+        return arrivalFit;
+    }
+
+    /**
+     * Returns the statistics of the day, indexing the products of the sink on first use
+     */
+    protected StreamingStatistics statistics() {
+        if (this.statistics == null) {
+            ProductIndex index = new ProductIndex();
+            for (Product product : this.products) {
+                index.add(product);
+            }
+            this.statistics = this.withUnfinishedProducts(index);
+        }
+        return this.statistics;
+    }
+
+    /**
+     * Adds the products that are still waiting or in production at the end of the day
+     */
+    protected StreamingStatistics withUnfinishedProducts(StreamingStatistics statistics) {
+        for (Product product : this.queue.getQueue()) {
+            if (!product.hasQueueTime()) {
+                product.setQueueTime(SimulationConfig.SIMULATION_RUNTIME - product.backTrackTimeForAnalysis(product.getArrivalTime()));
+            }
+            statistics.addUnfinished(product);
+        }
+
+        for (Machine machine : this.queue.getMachines()) {
+            if (machine.isBusy()) {
+                statistics.addUnfinished(machine.getProduct());
+            }
+        }
+
+        return statistics;
+    }
+
+    public boolean isStreaming() {
+        return this.products == null;
+    }
 
     public int count() {
-        return this.products.size();
+        return this.statistics().count();
     }
 
     public double avgDailyQueueTime() {
@@ -35,46 +109,28 @@ public class SinkAnalysis {
     }
 
     public double totalDailyQueueTime() {
-        double total = 0;
-        for (Product product : this.products) {
-            total += product.getQueueTime();
-        }
-        return total;
+        return this.statistics().getTotalQueueTime();
     }
 
     public double probabilityOfQueueTimeLessThan(double duration) {
-        double count = 0;
-        double totalCount = 0;
-        for (Product product : this.getProductsWithArrivalBetween(0, SimulationConfig.SIMULATION_RUNTIME)) {
-            if (product.getQueueTime() <= duration) {
-                count++;
-            }
-            totalCount++;
-        }
-        return count / totalCount;
+        return this.probabilityOfQueueTimeLessThan(duration, 0, SimulationConfig.SIMULATION_RUNTIME);
     }
 
+    /**
+     * For a sink that does not keep its products the time range is widened to whole hours
+     */
     public double probabilityOfQueueTimeLessThan(double duration, double startTime, double endTime) {
-        double count = 0;
-        double totalCount = 0;
-        for (Product product : this.getProductsWithArrivalBetween(startTime, endTime)) {
-            if (product.getQueueTime() <= duration) {
-                count++;
-            }
-            totalCount++;
-        }
-        return count / totalCount;
+        return this.statistics().probabilityOfQueueTimeAtMost(duration, startTime, endTime);
     }
 
     public double avgDailyQueueTime(int hour) {
-
-        double minArrival = hour * 3600;
-        double maxArrival = (hour + 1) * 3600;
-
-        return this.averageProductValue(this.getProductsWithArrivalBetween(minArrival, maxArrival), input -> input.getQueueTime());
+        return this.averageQueueTime(hour * 60, (hour + 1) * 60);
     }
 
     public ArrayList<Product> getProductsWithArrivalBetween(double minArrival, double maxArrival) {
+        if (this.isStreaming())
+            throw new RuntimeException("A statistics sink does not keep its products");
+
         ArrayList<Product> products = new ArrayList<>();
 
         //add products from sink
@@ -108,60 +164,37 @@ public class SinkAnalysis {
     }
 
     public double avgDailyQueueTime(int hour, int minute) {
-        double minArrival = hour * 3600 + minute * 60;
-        double maxArrival = hour * 3600 + (minute + 1) * 60;
-
-        return this.averageProductValue(this.getProductsWithArrivalBetween(minArrival, maxArrival), input -> input.getQueueTime());
+        return this.averageQueueTime(hour * 60 + minute, hour * 60 + minute + 1);
     }
 
     public double getAvgProductionTime() {
-        return this.averageProductValue(this.getProductsWithArrivalBetween(0, SimulationConfig.SIMULATION_RUNTIME), product -> product.getTimeInProduction());
+        return (this.statistics().getTotalProductionTime() / 60.0) / this.statistics().countProduced();
     }
 
     public double[] getAvgProductionTimeProbabilities() {
-
-        ProductType type = ProductType.CONSUMER;
-        double[] total = new double[1000];
-        for (Product product : this.products) {
-            int interval = (int) (product.getTimeInProduction() - (product.getTimeInProduction() % 1));
-            total[interval]++;
-            type = product.type();
-        }
+        double[] total = this.serviceTimeFrequencies();
 
         for (int i = 0; i < total.length; i++) {
-            double value = total[i];
-            if (Double.isNaN(value) || value < 1)
-                value = 0;
-
-            if(type.isConsumer()){
-                if(i< ServiceTimesConfig.CONSUMER_SERVICE_TIME_TRUNC_LEFT)
-                    value = 0;
-            }
-            if(type.isCorporate()){
-                if(i< ServiceTimesConfig.CORPORATE_SERVICE_TIME_TRUNC_LEFT)
-                    value = 0;
-            }
-
-            total[i] = value / this.products.size();
+            total[i] = total[i] / this.count();
         }
         return total;
 
     }
 
     public double[] getAvgProductionTimeFrequencies() {
+        return this.serviceTimeFrequencies();
+    }
 
-        ProductType type = ProductType.CONSUMER;
-        double[] total = new double[1000];
-        for (Product product : this.products) {
-            int interval = (int) (product.getTimeInProduction() - (product.getTimeInProduction() % 1));
-            total[interval]++;
-            type = product.type();
-        }
+    /**
+     * Amount of finished products per second of service time, the seconds below the truncation of the distribution are left out
+     */
+    protected double[] serviceTimeFrequencies() {
+        ProductType type = this.statistics().getType() != null ? this.statistics().getType() : ProductType.CONSUMER;
+        int[] frequencies = this.statistics().getServiceTimeFrequencies();
+        double[] total = new double[frequencies.length];
 
         for (int i = 0; i < total.length; i++) {
-            double value = total[i];
-            if (Double.isNaN(value) || value < 1)
-                value = 0;
+            double value = frequencies[i];
 
             if(type.isConsumer()){
                 if(i< ServiceTimesConfig.CONSUMER_SERVICE_TIME_TRUNC_LEFT)
@@ -176,32 +209,21 @@ public class SinkAnalysis {
         }
 
         return total;
-
     }
 
-
-    protected double averageProductValue(ArrayList<Product> products, Aggregate<Product, Double> aggr) {
-        double total = 0;
-        double count = 0;
-        for (Product product : products) {
-            total += aggr.group(product);
-            count++;
-        }
-        return (total / 60.0) / count;
+    /**
+     * Average queue time in minutes of the products arriving within the minutes
+     */
+    protected double averageQueueTime(int fromMinute, int toMinute) {
+        return (this.statistics().sumQueueTimes(fromMinute, toMinute) / 60.0) / this.statistics().countArrivals(fromMinute, toMinute);
     }
 
     public double avgArrivals(int hour) {
-        double minArrival = hour * 3600;
-        double maxArrival = (hour + 1) * 3600;
-
-        return this.getProductsWithArrivalBetween(minArrival, maxArrival).size();
+        return this.statistics().countArrivals(hour * 60, (hour + 1) * 60);
     }
 
     public double avgArrivals(int hour, int minute) {
-        double minArrival = hour * 3600 + minute * 60;
-        double maxArrival = hour * 3600 + (minute + 1) * 60;
-
-        return this.getProductsWithArrivalBetween(minArrival, maxArrival).size();
+        return this.statistics().countArrivals(hour * 60 + minute, hour * 60 + minute + 1);
     }
 
     public double[] avgQueueTimePerHour() {
@@ -2,132 +2,194 @@ package analysis;
 
 import charts.HistogramChart;
 import configs.SimulationConfig;
-import contracts.Aggregate;
 import org.jfree.chart.ChartColor;
 import org.jfree.chart.axis.NumberTickUnit;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.*;
+import statistics.RunningStatistics;
+import statistics.StreamingFitTest;
 import statistics.TConfInterval;
 
 import java.text.DecimalFormat;
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.util.Arrays;
 
+/**
+ * Aggregate of the analyses of many simulation days of one product type.
+ * Every day is folded into running sums and statistics when it is added and is not kept,
+ * so the size only grows by a few numbers per day for the series that are plotted per simulation.
+ */
 public class SinkAnalysisAggregator {
-    protected ArrayList<SinkAnalysis> sinkAnalyses = new ArrayList<>();
+    protected int count = 0;
+
+    /**
+     * Sums over the days, the averages are divided by the amount of days when they are queried
+     */
+    protected double[] queueTimesPerHour = new double[StreamingStatistics.HOURS];
+    protected double[] arrivalsPerHour = new double[StreamingStatistics.HOURS];
+    protected double[] arrivalsPerMinute = new double[StreamingStatistics.MINUTES];
+    protected double[] serviceTimeProbabilities = new double[StreamingStatistics.SERVICE_TIME_BINS];
+    protected double[] serviceTimeFrequencies = new double[StreamingStatistics.SERVICE_TIME_BINS];
+
+    /**
+     * Running mean and variance over the days of the average queue time per minute
+     */
+    protected RunningStatistics[] queueTimesPerMinute = new RunningStatistics[StreamingStatistics.MINUTES];
+
+    /**
+     * Running mean and variance over the days of the probability that a product waited less than a number of queue time bins,
+     * indexed on the first hour, the hour after the last hour and the number of bins
+     */
+    protected RunningStatistics[][][] queueTimeProbabilities = new RunningStatistics[StreamingStatistics.HOURS][StreamingStatistics.HOURS + 1][];
+
+    /**
+     * Per day average production time, average and total queue time, in the order the days were added
+     */
+    protected double[] avgProductionTimes = new double[16];
+    protected double[] avgQueueTimes = new double[16];
+    protected double[] totalQueueTimes = new double[16];
+
+    /**
+     * Input model fits over all days
+     */
+    protected StreamingFitTest serviceTimeFit = new StreamingFitTest();
+
+    protected StreamingFitTest arrivalFit = new StreamingFitTest();
 
     protected String productType;
 
     public SinkAnalysisAggregator(String productType) {
         this.productType = productType;
-    }
 
-    public void add(SinkAnalysis analysis) {
-        this.sinkAnalyses.add(analysis);
-    }
+        for (int i = 0; i < this.queueTimesPerMinute.length; i++) {
+            this.queueTimesPerMinute[i] = new RunningStatistics();
+        }
 
-    public int count() {
-        return this.sinkAnalyses.size();
+        for (int from = 0; from < StreamingStatistics.HOURS; from++) {
+            for (int to = from + 1; to <= StreamingStatistics.HOURS; to++) {
+                this.queueTimeProbabilities[from][to] = new RunningStatistics[StreamingStatistics.QUEUE_TIME_BINS + 1];
+                for (int b = 0; b <= StreamingStatistics.QUEUE_TIME_BINS; b++) {
+                    this.queueTimeProbabilities[from][to][b] = new RunningStatistics();
+                }
+            }
+        }
     }
 
+    /**
+     * Folds in the analysis of one day, the analysis is not kept
+     */
+    public void add(SinkAnalysis analysis) {
+        if (this.count == this.avgProductionTimes.length) {
+            this.avgProductionTimes = Arrays.copyOf(this.avgProductionTimes, 2 * this.count);
+            this.avgQueueTimes = Arrays.copyOf(this.avgQueueTimes, 2 * this.count);
+            this.totalQueueTimes = Arrays.copyOf(this.totalQueueTimes, 2 * this.count);
+        }
 
-    protected double[] aggregatePerHour(Aggregate<SinkAnalysis, double[]> aggr) {
-        double[] aggregated = new double[24];
+        this.avgProductionTimes[this.count] = analysis.getAvgProductionTime();
+        this.avgQueueTimes[this.count] = analysis.avgDailyQueueTime();
+        this.totalQueueTimes[this.count] = analysis.totalDailyQueueTime();
+        this.count++;
 
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            double[] data = aggr.group(analysis);
-            for (int h = 0; h < 24; h++) {
-                double value = data[h];
-                if (Double.isNaN(value)) {
-                    value = 0;
-                }
-                aggregated[h] += (value / (double) this.count());
-            }
+        add(this.queueTimesPerHour, analysis.avgQueueTimePerHour());
+        add(this.arrivalsPerHour, analysis.arrivalsPerHour());
+        add(this.arrivalsPerMinute, analysis.arrivalsPerMinute());
+        add(this.serviceTimeProbabilities, analysis.getAvgProductionTimeProbabilities());
+        add(this.serviceTimeFrequencies, analysis.getAvgProductionTimeFrequencies());
+
+        double[] queueTimes = analysis.avgQueueTimePerMinute();
+        for (int i = 0; i < queueTimes.length; i++) {
+            this.queueTimesPerMinute[i].add(Double.isNaN(queueTimes[i]) ? 0 : queueTimes[i]);
         }
 
-        return aggregated;
+        this.addQueueTimeProbabilities(analysis.statistics());
+
+        if (analysis.getServiceTimeFit() != null)
+            this.serviceTimeFit.merge(analysis.getServiceTimeFit());
+        if (analysis.getArrivalFit() != null)
+            this.arrivalFit.merge(analysis.getArrivalFit());
     }
 
-    protected double[] aggregatePerMinute(Aggregate<SinkAnalysis, double[]> aggr) {
-        double[] aggregated = new double[24 * 60];
+    /**
+     * Adds the values to the sums, a value that is not a number counts as 0
+     */
+    protected static void add(double[] sums, double[] values) {
+        for (int i = 0; i < sums.length; i++) {
+            if (!Double.isNaN(values[i]))
+                sums[i] += values[i];
+        }
+    }
 
+    /**
+     * Adds the probability of the day for every range of whole hours and every number of queue time bins,
+     * the same probability StreamingStatistics.probabilityOfQueueTimeAtMost answers for one day
+     */
+    protected void addQueueTimeProbabilities(StreamingStatistics statistics) {
+        int[][] cumulative = statistics.cumulativeQueueTimeFrequencies();
 
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            double[] data = aggr.group(analysis);
-            for (int h = 0; h < 24; h++) {
-                for (int m = 0; m < 60; m++) {
-                    double value = data[60 * h + m];
-                    if (Double.isNaN(value)) {
-                        value = 0;
-                    }
-                    aggregated[60 * h + m] += (value / (double) this.count());
+        for (int from = 0; from < StreamingStatistics.HOURS; from++) {
+            for (int to = from + 1; to <= StreamingStatistics.HOURS; to++) {
+                double arrivals = statistics.countArrivals(from * 60, to * 60);
+                RunningStatistics[] probabilities = this.queueTimeProbabilities[from][to];
 
+                for (int b = 0; b <= StreamingStatistics.QUEUE_TIME_BINS; b++) {
+                    probabilities[b].add((cumulative[to][b] - cumulative[from][b]) / arrivals);
                 }
             }
         }
-
-        return aggregated;
     }
 
-    protected double[] countPerMinute(Aggregate<SinkAnalysis, double[]> aggr) {
-        double[] aggregated = new double[24 * 60];
+    /**
+     * Running statistics over the days of the probability of a queue time less than the duration, for products arriving
+     * between the start and end time. Like for a single day the time range is widened to whole hours.
+     */
+    protected RunningStatistics queueTimeProbability(double duration, double minTime, double maxTime) {
+        int fromHour = (int) (minTime / 3600);
+        int toHour = (int) Math.ceil(maxTime / 3600);
+        int bins = Math.min((int) (duration / StreamingStatistics.QUEUE_TIME_BIN_WIDTH), StreamingStatistics.QUEUE_TIME_BINS);
 
+        return this.queueTimeProbabilities[fromHour][toHour][bins];
+    }
 
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            double[] data = aggr.group(analysis);
-            for (int h = 0; h < 24; h++) {
-                for (int m = 0; m < 60; m++) {
-                    double value = data[60 * h + m];
-                    if (Double.isNaN(value)) {
-                        value = 0;
-                    }
-                    aggregated[60 * h + m] += (value);
+    public StreamingFitTest getServiceTimeFit() {
+        return serviceTimeFit;
+    }
 
-                }
-            }
-        }
+    public StreamingFitTest getArrivalFit() {
+        return arrivalFit;
+    }
 
-        return aggregated;
+    public int count() {
+        return this.count;
     }
 
-    public double[] avgServiceTimesPerSimulation() {
-        double times[] = new double[this.sinkAnalyses.size()];
-        int counter = 0;
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            times[counter] += analysis.getAvgProductionTime() / this.sinkAnalyses.size();
-            counter++;
+    /**
+     * Divides the sums by the amount of days
+     */
+    protected double[] average(double[] sums) {
+        double[] averages = new double[sums.length];
+        for (int i = 0; i < sums.length; i++) {
+            averages[i] = sums[i] / (double) this.count();
         }
+        return averages;
+    }
 
-        return times;
+    public double[] avgServiceTimesPerSimulation() {
+        return this.average(Arrays.copyOf(this.avgProductionTimes, this.count));
     }
 
     public double avgProbabilityQueueTimeLessThan(double duration, double minTime, double maxTime) {
-        double probability = 0;
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            probability += analysis.probabilityOfQueueTimeLessThan(duration, minTime, maxTime);
-        }
-
-        return probability / ((double) this.count());
+        return this.queueTimeProbability(duration, minTime, maxTime).mean();
     }
 
     public double[] avgProbabilityQueueTimeLessThanWithConfidence(double duration, double minTime, double maxTime, double confidence) {
-        double[] probabilities = new double[this.sinkAnalyses.size()];
-        double probability = 0;
-        int count = 0;
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            probabilities[count] = analysis.probabilityOfQueueTimeLessThan(duration, minTime, maxTime);
-            probability += probabilities[count];
-            count++;
-        }
+        RunningStatistics probability = this.queueTimeProbability(duration, minTime, maxTime);
 
-
-        TConfInterval tInterval = new TConfInterval(probabilities, confidence);
+        TConfInterval tInterval = new TConfInterval(probability, confidence);
         double lowerBound = tInterval.lowerBound();
 
         double[] probabilityWithConfidence = new double[3];
         probabilityWithConfidence[0] = lowerBound < 0 ? 0 : lowerBound;
         probabilityWithConfidence[1] = tInterval.upperBound();
-        probabilityWithConfidence[2] = probability / count;
+        probabilityWithConfidence[2] = probability.mean();
 
         return probabilityWithConfidence;
     }
@@ -138,123 +200,73 @@ public class SinkAnalysisAggregator {
 
 
     public double[] avgQueueTimesPerHour() {
-        return this.aggregatePerHour(a -> a.avgQueueTimePerHour());
+        return this.average(this.queueTimesPerHour);
     }
 
     public double[] avgQueueTimesPerMinute() {
-        return this.aggregatePerMinute(a -> a.avgQueueTimePerMinute());
-    }
+        double[] times = new double[24 * 60];
 
-    public double[] totalAvgQueueTimePerSimulation() {
-        double[] times = new double[this.sinkAnalyses.size()];
-        int counter = 0;
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            times[counter] = analysis.avgDailyQueueTime() / this.sinkAnalyses.size();
-            counter++;
+        if (this.count() == 0)
+            return times;
+
+        for (int i = 0; i < times.length; i++) {
+            times[i] = this.queueTimesPerMinute[i].mean();
         }
         return times;
     }
 
-    public double[] avgServiceTimeProbabilities() {
-        double[] times = new double[1000];
-
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            double[] simulationTimes = analysis.getAvgProductionTimeProbabilities();
-            for (int i = 0; i < simulationTimes.length; i++) {
-                times[i] += simulationTimes[i] / sinkAnalyses.size();
-
-            }
-        }
+    public double[] totalAvgQueueTimePerSimulation() {
+        return this.average(Arrays.copyOf(this.avgQueueTimes, this.count));
+    }
 
-        return times;
+    public double[] avgServiceTimeProbabilities() {
+        return this.average(this.serviceTimeProbabilities);
     }
 
     public double[] avgServiceTimeFrequencies() {
-        double[] times = new double[1000];
-
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            double[] simulationTimes = analysis.getAvgProductionTimeFrequencies();
-            for (int i = 0; i < simulationTimes.length; i++) {
-                times[i] += simulationTimes[i];
-            }
-        }
-
-        return times;
+        return this.serviceTimeFrequencies.clone();
     }
 
 
     public double[] totalQueueHourTimePerSimulation() {
-        double[] times = new double[this.sinkAnalyses.size()];
-        int counter = 0;
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            times[counter] = (analysis.totalDailyQueueTime() / 3600);
-            counter++;
+        double[] times = new double[this.count];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = this.totalQueueTimes[i] / 3600;
         }
         return times;
     }
 
     public double[] avgQueueHourTimePerSimulation() {
-        double[] times = new double[this.sinkAnalyses.size()];
-        int counter = 0;
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            times[counter] = (analysis.avgDailyQueueTime() / 3600);
-            counter++;
+        double[] times = new double[this.count];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = this.avgQueueTimes[i] / 3600;
         }
         return times;
     }
 
-    public double[][] avgQueueTimesPerMinutePerSimulation() {
-        double[][] simulationQueueTimesPerMinute = new double[24 * 60][this.sinkAnalyses.size()];
-
-        int i = 0;
-        for (SinkAnalysis analysis : this.sinkAnalyses) {
-            double[] data = analysis.avgQueueTimePerMinute();
-            for (int h = 0; h < 24; h++) {
-                for (int m = 0; m < 60; m++) {
-                    double value = data[60 * h + m];
-                    if (Double.isNaN(value)) {
-                        value = 0;
-                    }
-                    simulationQueueTimesPerMinute[60 * h + m][i] = value;
-                }
-            }
-            i++;
-        }
-
-        return simulationQueueTimesPerMinute;
-    }
-
 
     public double[][] calculateConfidenceQueueTimesPerMinute(double confidence) {
         double[][] confidencePerMinute = new double[2][24 * 60];
 
-        double[][] queueTimes = this.avgQueueTimesPerMinutePerSimulation();
-
-        int counter = 0;
-        String test;
-        for (double[] simulationMinuteQueueTime : queueTimes) {
-
-            if (counter > 16 * 60)
-                test = "";
-            TConfInterval tInterval = new TConfInterval(simulationMinuteQueueTime, confidence);
+        for (int i = 0; i < this.queueTimesPerMinute.length; i++) {
+            TConfInterval tInterval = new TConfInterval(this.queueTimesPerMinute[i], confidence);
             double lowerBound = tInterval.lowerBound();
-            confidencePerMinute[0][counter] = lowerBound < 0 ? 0 : lowerBound;
-            confidencePerMinute[1][counter] = tInterval.upperBound();
-            counter++;
+            confidencePerMinute[0][i] = lowerBound < 0 ? 0 : lowerBound;
+            confidencePerMinute[1][i] = tInterval.upperBound();
         }
         return confidencePerMinute;
     }
 
     public double[] avgArrivalsPerHour() {
-        return this.aggregatePerHour(a -> a.arrivalsPerHour());
+        return this.average(this.arrivalsPerHour);
     }
 
     public double[] avgArrivalsPerMinute() {
-        return this.aggregatePerMinute(a -> a.arrivalsPerMinute());
+        return this.average(this.arrivalsPerMinute);
     }
 
     public double[] countArrivalsPerMinute() {
-        return this.countPerMinute(a -> a.arrivalsPerMinute());
+        return this.arrivalsPerMinute.clone();
     }
 
     public void plotAvgMinutelyQueueTimesWithConfidence(double confidence, boolean autoscale) {
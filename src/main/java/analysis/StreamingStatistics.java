@@ -0,0 +1,216 @@
+package analysis;
+
+import configs.SimulationConfig;
+import enums.ProductType;
+import models.Product;
+
+/**
+ * Running statistics of the products of one simulation day, bucketed on the minute of arrival.
+ * Products are folded in one at a time and are not kept, so the size is fixed no matter how many products are added.
+ *
+ * Finished products count towards every statistic.
+ * Unfinished products (still waiting or in production at the end of the day) only count towards the
+ * arrival and queue time series, like they do in the product based analysis.
+ * The production time only covers the products that started production, waiting products have no service time yet.
+ * The series only cover products that arrived within the day.
+ */
+public class StreamingStatistics {
+
+    public static final int MINUTES = SimulationConfig.SIMULATION_RUNTIME / 60;
+
+    public static final int HOURS = MINUTES / 60;
+
+    /**
+     * Service times are counted in bins of one second
+     */
+    public static final int SERVICE_TIME_BINS = 1000;
+
+    /**
+     * Queue times are counted per hour of arrival in bins of 10 seconds up to 30 minutes,
+     * the last bin holds all longer queue times
+     */
+    public static final double QUEUE_TIME_BIN_WIDTH = 10.0;
+    public static final int QUEUE_TIME_BINS = 180;
+
+    protected ProductType type;
+
+    /**
+     * Finished products
+     */
+    protected int count = 0;
+    protected double totalQueueTime = 0;
+    protected int[] serviceTimeFrequencies = new int[SERVICE_TIME_BINS];
+
+    /**
+     * All products per minute of arrival
+     */
+    protected int[] arrivals = new int[MINUTES];
+    protected double[] queueTimes = new double[MINUTES];
+    protected double[] squaredQueueTimes = new double[MINUTES];
+    protected double totalProductionTime = 0;
+    protected int produced = 0;
+
+    protected int[][] queueTimeFrequencies = new int[HOURS][QUEUE_TIME_BINS + 1];
+
+    /**
+     * Folds in a product that went through the whole system
+     */
+    public void add(Product product) {
+        this.addUnfinished(product);
+
+        this.type = product.type();
+        this.count++;
+        this.totalQueueTime += product.getQueueTime();
+        this.serviceTimeFrequencies[Math.min((int) product.getTimeInProduction(), SERVICE_TIME_BINS - 1)]++;
+    }
+
+    /**
+     * Folds in a product that was still in the system at the end of the day, its queue time has to be set
+     */
+    public void addUnfinished(Product product) {
+        double arrival = product.backTrackTimeForAnalysis(product.getArrivalTime());
+
+        if (arrival >= SimulationConfig.SIMULATION_RUNTIME)
+            return;
+
+        int minute = (int) (arrival / 60);
+        double queueTime = product.getQueueTime();
+
+        this.arrivals[minute]++;
+        this.queueTimes[minute] += queueTime;
+        this.squaredQueueTimes[minute] += queueTime * queueTime;
+        if (product.hasProductionTime()) {
+            this.totalProductionTime += product.getTimeInProduction();
+            this.produced++;
+        }
+
+        this.queueTimeFrequencies[minute / 60][Math.min((int) (queueTime / QUEUE_TIME_BIN_WIDTH), QUEUE_TIME_BINS)]++;
+    }
+
+    public StreamingStatistics copy() {
+        StreamingStatistics copy = new StreamingStatistics();
+
+        copy.type = this.type;
+        copy.count = this.count;
+        copy.totalQueueTime = this.totalQueueTime;
+        copy.serviceTimeFrequencies = this.serviceTimeFrequencies.clone();
+        copy.arrivals = this.arrivals.clone();
+        copy.queueTimes = this.queueTimes.clone();
+        copy.squaredQueueTimes = this.squaredQueueTimes.clone();
+        copy.totalProductionTime = this.totalProductionTime;
+        copy.produced = this.produced;
+
+        for (int h = 0; h < HOURS; h++) {
+            copy.queueTimeFrequencies[h] = this.queueTimeFrequencies[h].clone();
+        }
+
+        return copy;
+    }
+
+    /**
+     * Type of the finished products, null as long as no product was added
+     */
+    public ProductType getType() {
+        return type;
+    }
+
+    /**
+     * Amount of finished products
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Total queue time of the finished products
+     */
+    public double getTotalQueueTime() {
+        return totalQueueTime;
+    }
+
+    /**
+     * Amount of finished products per second of service time
+     */
+    public int[] getServiceTimeFrequencies() {
+        return this.serviceTimeFrequencies.clone();
+    }
+
+    /**
+     * Amount of products that arrived from the start of the first up to the start of the last minute
+     */
+    public int countArrivals(int fromMinute, int toMinute) {
+        int total = 0;
+        for (int m = fromMinute; m < toMinute; m++) {
+            total += this.arrivals[m];
+        }
+        return total;
+    }
+
+    public double sumQueueTimes(int fromMinute, int toMinute) {
+        double total = 0;
+        for (int m = fromMinute; m < toMinute; m++) {
+            total += this.queueTimes[m];
+        }
+        return total;
+    }
+
+    public double sumSquaredQueueTimes(int fromMinute, int toMinute) {
+        double total = 0;
+        for (int m = fromMinute; m < toMinute; m++) {
+            total += this.squaredQueueTimes[m];
+        }
+        return total;
+    }
+
+    /**
+     * Total production time of the products that started production
+     */
+    public double getTotalProductionTime() {
+        return totalProductionTime;
+    }
+
+    /**
+     * Amount of products that started production, finished or not
+     */
+    public int countProduced() {
+        return produced;
+    }
+
+    /**
+     * Fraction of the products arriving between the start and end time that waited at most the given duration.
+     * Queue times are only known per hour of arrival and up to a bin, so the time range is widened to whole hours
+     * and the duration is rounded down to a multiple of the bin width.
+     */
+    public double probabilityOfQueueTimeAtMost(double duration, double startTime, double endTime) {
+        int fromHour = (int) (startTime / 3600);
+        int toHour = (int) Math.ceil(endTime / 3600);
+        int bins = Math.min((int) (duration / QUEUE_TIME_BIN_WIDTH), QUEUE_TIME_BINS);
+
+        double count = 0;
+        for (int h = fromHour; h < toHour; h++) {
+            for (int b = 0; b < bins; b++) {
+                count += this.queueTimeFrequencies[h][b];
+            }
+        }
+        return count / this.countArrivals(fromHour * 60, toHour * 60);
+    }
+
+    /**
+     * Amount of products arriving before the start of an hour that waited less than a number of queue time bins,
+     * indexed on the hour (0 to HOURS) and the number of bins (0 to QUEUE_TIME_BINS)
+     */
+    public int[][] cumulativeQueueTimeFrequencies() {
+        int[][] cumulative = new int[HOURS + 1][QUEUE_TIME_BINS + 1];
+
+        for (int h = 0; h < HOURS; h++) {
+            int waited = 0;
+            for (int b = 0; b <= QUEUE_TIME_BINS; b++) {
+                cumulative[h + 1][b] = cumulative[h][b] + waited;
+                if (b < QUEUE_TIME_BINS)
+                    waited += this.queueTimeFrequencies[h][b];
+            }
+        }
+
+        return cumulative;
+    }
+}
@@ -50,4 +50,11 @@ public class AnalysisConfig {
      * Plot the corporate and consumer service times
      */
     public static boolean PLOT_SERVICE_TIMES = true;
+
+    /**
+     * Test the service and inter-arrival times against their distributions while the simulation runs
+     * and print the Kolmogorov-Smirnov and Anderson-Darling statistics.
+     * Off by default since it adds two listeners to every simulation, turn it on for a study of the input models
+     */
+    public static boolean VALIDATE_INPUT_MODELS = false;
 }
@@ -5,11 +5,15 @@ import contracts.IQueue;
 import contracts.ISimulationConfig;
 import contracts.IStrategy;
 import enums.AgentShift;
+import enums.EventListType;
+import enums.SinkType;
 import enums.MachineType;
 import enums.ProductType;
+import enums.StreamType;
 import factories.AgentFactory;
 import factories.InterArrivalTimesFactory;
 import factories.ProductEventFactory;
+import utils.RandomStreams;
 
 /**
  * This config file initiates the simulation with the standard settings found in all the configs.
@@ -22,6 +26,8 @@ public class DefaultSimConfig implements ISimulationConfig {
 
     protected int iterations = SimulationConfig.SIMULATION_COUNT;
 
+    protected RandomStreams streams = new RandomStreams(SimulationConfig.RANDOM_SEED);
+
     public DefaultSimConfig() {
     }
 
@@ -33,12 +39,25 @@ public class DefaultSimConfig implements ISimulationConfig {
         this.queues = queues;
     }
 
+    /**
+     * Config with the default parameters that draws all randomness from the given seed
+     */
+    public static DefaultSimConfig withSeed(long seed) {
+        DefaultSimConfig config = new DefaultSimConfig();
+        config.setSeed(seed);
+        return config;
+    }
+
+    public void setSeed(long seed) {
+        this.streams = new RandomStreams(seed);
+    }
+
     @Override
-    public AbstractEventFactory[] getSources() {
+    public AbstractEventFactory[] getSources(RandomStreams streams) {
         AbstractEventFactory[] sources = new AbstractEventFactory[8];
 
-        double[] consumerInterArrivalTimes = new InterArrivalTimesFactory(SimulationConfig.CONSUMER_ARRIVAL_RATE.sampleArrivalRates()).build();
-        double[] corporateInterArrivalTimes = new InterArrivalTimesFactory(SimulationConfig.CORPORATE_ARRIVAL_RATE.sampleArrivalRates()).build();
+        double[] consumerInterArrivalTimes = new InterArrivalTimesFactory(SimulationConfig.CONSUMER_ARRIVAL_RATE.sampleArrivalRates(streams.get(StreamType.CONSUMER_ARRIVALS))).build();
+        double[] corporateInterArrivalTimes = new InterArrivalTimesFactory(SimulationConfig.CORPORATE_ARRIVAL_RATE.sampleArrivalRates(streams.get(StreamType.CORPORATE_ARRIVALS))).build();
 
         /**
          * The sources that will generate the arrival time events
@@ -81,4 +100,24 @@ public class DefaultSimConfig implements ISimulationConfig {
     public int getQueueWarmupIterations(){
         return SimulationConfig.MAX_QUEUE_WARM_UP_ITERATIONS;
     }
+
+    @Override
+    public EventListType getEventListType() {
+        return SimulationConfig.EVENT_LIST;
+    }
+
+    @Override
+    public RandomStreams getRandomStreams() {
+        return this.streams;
+    }
+
+    @Override
+    public SinkType getSinkType() {
+        return SimulationConfig.SINK;
+    }
+
+    @Override
+    public boolean isEventLoopInstrumented() {
+        return SimulationConfig.INSTRUMENT_EVENT_LOOP;
+    }
 }
@@ -0,0 +1,91 @@
+package configs;
+
+import abstracts.AbstractEventFactory;
+import contracts.IQueue;
+import contracts.ISimulationConfig;
+import contracts.IStrategy;
+import enums.EventListType;
+import enums.SinkType;
+import utils.RandomStreams;
+
+/**
+ * Config of a single independent replication.
+ * Every replication starts from the same (warmed up) queues and gets its own strategy instance and random streams,
+ * so replications can run concurrently without sharing any mutable state.
+ */
+public class ReplicationConfig implements ISimulationConfig {
+
+    protected final ISimulationConfig config;
+
+    protected final IQueue[] queues;
+
+    protected final IStrategy strategy;
+
+    protected final int replication;
+
+    protected final RandomStreams streams;
+
+    public ReplicationConfig(ISimulationConfig config, IQueue[] queues, int replication) {
+        this.config = config;
+        this.queues = queues;
+        this.replication = replication;
+        this.strategy = config.getStrategy() == null ? null : config.getStrategy().copy();
+        this.streams = config.getRandomStreams().replication(replication);
+    }
+
+    @Override
+    public AbstractEventFactory[] getSources(RandomStreams streams) {
+        return this.config.getSources(streams);
+    }
+
+    @Override
+    public IQueue[] getQueues() {
+        return this.queues;
+    }
+
+    /**
+     * Replications are independent, the queues of a finished replication are not carried over
+     */
+    @Override
+    public void setQueues(IQueue[] queues) {
+    }
+
+    @Override
+    public int getIterations() {
+        return 1;
+    }
+
+    @Override
+    public IStrategy getStrategy() {
+        return this.strategy;
+    }
+
+    @Override
+    public int getQueueWarmupIterations() {
+        return 0;
+    }
+
+    @Override
+    public EventListType getEventListType() {
+        return this.config.getEventListType();
+    }
+
+    @Override
+    public RandomStreams getRandomStreams() {
+        return this.streams;
+    }
+
+    @Override
+    public SinkType getSinkType() {
+        return this.config.getSinkType();
+    }
+
+    @Override
+    public boolean isEventLoopInstrumented() {
+        return this.config.isEventLoopInstrumented();
+    }
+
+    public int getReplication() {
+        return this.replication;
+    }
+}
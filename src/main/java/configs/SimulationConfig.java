@@ -1,8 +1,9 @@
 package configs;
 
-import contracts.Distribution;
 import contracts.IArrivalRateFactory;
 import contracts.IStrategy;
+import enums.EventListType;
+import enums.SinkType;
 import factories.*;
 import strategies.CorporateTakeoverStrategy;
 
@@ -18,6 +19,12 @@ public class SimulationConfig {
      */
     public static final boolean WARMUP_QUEUE = false;
 
+    /**
+     * Determines if the simulation days are run as independent replications in parallel.
+     * Every replication then starts from the same (warmed up) queue instead of the queue of the previous day
+     */
+    public static final boolean PARALLEL_REPLICATIONS = false;
+
     /**
      * Determines the maximum amount of iterations of queue warming.
      * If more than 200 iterations are necessary we can be quite certain
@@ -37,6 +44,29 @@ public class SimulationConfig {
      */
     public static final boolean DEBUG = false;
 
+    /**
+     * Determines if the event loops publish their counters and listener latencies over JMX (simulation:type=EventLoop)
+     */
+    public static final boolean INSTRUMENT_EVENT_LOOP = false;
+
+    /**
+     * Seed of all random streams in the simulation.
+     * The same seed reproduces the same simulation, change it to get a different outcome
+     */
+    public static final long RANDOM_SEED = 20200531L;
+
+    /**
+     * Determines the data structure of the future event list
+     * HEAP is a good default, CALENDAR is faster when a lot of events are pending
+     */
+    public static final EventListType EVENT_LIST = EventListType.HEAP;
+
+    /**
+     * Determines what the sinks keep of the finished products
+     * PRODUCTS keeps every product, STATISTICS only keeps running statistics so long studies run in fixed memory per day
+     */
+    public static final SinkType SINK = SinkType.PRODUCTS;
+
     /**
      * Determines the strategy of when corporate workers will help out consumers
      */
@@ -60,16 +90,6 @@ public class SimulationConfig {
             SimulationConfig.SIMULATION_RUNTIME
     ));
 
-    /**
-     * Determines the factory for the consumer service times
-     */
-    public static final Distribution<Double> CONSUMER_SERVICE_DISTRIBUTION = (new ServiceTimeFactory(ServiceTimesConfig.CONSUMER_SERVICE_TIME_MEAN, ServiceTimesConfig.CONSUMER_SERVICE_TIME_STD, ServiceTimesConfig.CONSUMER_SERVICE_TIME_TRUNC_LEFT)).getDistribution();
-
-    /**
-     * Determines the factory for the corporate arrival rates
-     */
-    public static final Distribution<Double> CORPORATE_SERVICE_DISTRIBUTION = (new ServiceTimeFactory(ServiceTimesConfig.CORPORATE_SERVICE_TIME_MEAN, ServiceTimesConfig.CORPORATE_SERVICE_TIME_STD, ServiceTimesConfig.CORPORATE_SERVICE_TIME_TRUNC_LEFT)).getDistribution();
-
     /**
      * The cost per hour per consumer agent
      */
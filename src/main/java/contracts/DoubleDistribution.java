@@ -0,0 +1,19 @@
+package contracts;
+
+/**
+ * Distribution of real values that can be drawn from without boxing
+ */
+public interface DoubleDistribution extends Distribution<Double> {
+
+    public double nextDouble();
+
+    /**
+     * Writes length draws into the buffer, starting at the offset
+     */
+    public void fill(double[] buffer, int offset, int length);
+
+    /**
+     * Probability of a draw being at most x
+     */
+    public double cdf(double x);
+}
@@ -3,11 +3,20 @@ package contracts;
 
 import models.ArrivalRate;
 
+import java.util.SplittableRandom;
+
 public interface IArrivalRateFactory {
     public double[] sampleArrivalRates();
 
+    public double[] sampleArrivalRates(SplittableRandom rng);
+
     public double getRate(double time);
 
+    /**
+     * Expected amount of arrivals between two times, the integral of the rate
+     */
+    public double expectedArrivals(double from, double to);
+
     public ArrivalRate build();
 
 }
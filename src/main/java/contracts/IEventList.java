@@ -0,0 +1,16 @@
+package contracts;
+
+import abstracts.AbstractEvent;
+
+public interface IEventList {
+
+    public void add(AbstractEvent event);
+
+    public void addUnsorted(AbstractEvent event);
+
+    public AbstractEvent removeFirst();
+
+    public int count();
+
+    public boolean empty();
+}
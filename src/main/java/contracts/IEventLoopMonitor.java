@@ -0,0 +1,49 @@
+package contracts;
+
+import javax.management.MXBean;
+import java.util.Map;
+
+/**
+ * Live counters of the event loops, published on the platform MBean server (e.g. to jconsole or VisualVM).
+ * Counters cover every instrumented run since the monitor was last reset,
+ * the counters of a running loop are brought up to date every statistics.EventLoopRecorder.SAMPLE events.
+ */
+@MXBean
+public interface IEventLoopMonitor {
+
+    public long getEventsProcessed();
+
+    /**
+     * Events processed per event type name
+     */
+    public Map<String, Long> getEventsProcessedPerType();
+
+    /**
+     * Events processed per second of wall-clock time
+     */
+    public double getEventsPerSecond();
+
+    /**
+     * Events pending in the future event lists of all running loops
+     */
+    public long getEventListSize();
+
+    public long getPeakEventListSize();
+
+    /**
+     * Simulated seconds per second of wall-clock time, summed over the runs
+     */
+    public double getSimulatedToWallClockRatio();
+
+    /**
+     * Latency histogram per listener, named by event type and listener class.
+     * Bucket i counts the calls that took less than the i-th upper bound in nanoseconds.
+     */
+    public Map<String, long[]> getListenerLatencyHistograms();
+
+    public long[] getLatencyBucketUpperBounds();
+
+    public Map<String, Double> getListenerMeanLatencies();
+
+    public void reset();
+}
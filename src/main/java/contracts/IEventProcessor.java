@@ -1,18 +1,18 @@
 package contracts;
 
 import abstracts.AbstractEvent;
-import models.Sink;
 
 public interface IEventProcessor {
 
     public void addEvent(AbstractEvent event);
 
+    public void register(int type, IListener<? extends AbstractEvent> listener);
+
     public void start();
 
     public void stop();
 
     public IQueue[] getQueues();
 
-    public Sink[] getSinks();
-
+    public ProductAcceptor[] getSinks();
 }
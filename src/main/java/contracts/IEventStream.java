@@ -0,0 +1,16 @@
+package contracts;
+
+import abstracts.AbstractEvent;
+
+/**
+ * A source that hands out its events one at a time, in execution order.
+ * Only the next event of a stream is kept in the event list, the processor asks for the following one
+ * once it has been executed.
+ */
+public interface IEventStream {
+
+    /**
+     * @return the next event of the stream or null if the stream is exhausted
+     */
+    public AbstractEvent next();
+}
@@ -4,6 +4,7 @@ import models.Machine;
 import models.Product;
 
 import java.util.ArrayList;
+import java.util.List;
 
 public interface IQueue {
 
@@ -13,10 +14,25 @@ public interface IQueue {
 
     public Product ask(Machine machine);
 
-    public ArrayList<Product> getQueue();
+    public List<Product> getQueue();
 
     public ArrayList<Machine> getMachines();
 
     public int count();
 
+    /**
+     * Product that has been waiting the longest, null if the queue is empty
+     */
+    public Product first();
+
+    /**
+     * Amount of assigned agents that are operational
+     */
+    public int countOperationalMachines();
+
+    /**
+     * Amount of assigned agents that are operational and idle
+     */
+    public int countIdleMachines();
+
 }
@@ -0,0 +1,30 @@
+package contracts;
+
+import enums.ProductType;
+import models.Machine;
+import models.Product;
+import statistics.StreamingFitTest;
+
+/**
+ * Selects the queue and sink that belong to a product or agent
+ */
+public interface IRouter {
+
+    public DoubleDistribution selectServiceTimeDistribution(Product product);
+
+    public IQueue selectQueue(Product product);
+
+    public IQueue selectQueue(Machine machine);
+
+    public ProductAcceptor selectSink(Product product);
+
+    /**
+     * Fit of the service times of a product type, null when the input models are not validated
+     */
+    public StreamingFitTest getServiceTimeFit(ProductType type);
+
+    /**
+     * Fit of the inter-arrival times of a product type, null when the input models are not validated
+     */
+    public StreamingFitTest getArrivalFit(ProductType type);
+}
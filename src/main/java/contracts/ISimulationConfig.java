@@ -1,9 +1,15 @@
 package contracts;
 
 import abstracts.AbstractEventFactory;
+import enums.EventListType;
+import enums.SinkType;
+import utils.RandomStreams;
 
 public interface ISimulationConfig {
-    public AbstractEventFactory[] getSources();
+    /**
+     * Creates the sources of one simulation day, drawing all randomness from the given streams
+     */
+    public AbstractEventFactory[] getSources(RandomStreams streams);
 
     public IQueue[] getQueues();
 
@@ -14,4 +20,15 @@ public interface ISimulationConfig {
     public IStrategy getStrategy();
 
     public int getQueueWarmupIterations();
+
+    public EventListType getEventListType();
+
+    public RandomStreams getRandomStreams();
+
+    public SinkType getSinkType();
+
+    /**
+     * Whether the event loop reports its counters and listener latencies to the JMX event loop monitor
+     */
+    public boolean isEventLoopInstrumented();
 }
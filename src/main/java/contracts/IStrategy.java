@@ -2,9 +2,21 @@ package contracts;
 
 import models.Product;
 
+import java.util.SplittableRandom;
+
 public interface IStrategy {
 
     public IQueue execute(double tme, Product product);
 
     public void setQueues(IQueue consumerQueue, IQueue corporateQueue);
+
+    /**
+     * Sets the random stream the strategy draws from, if it needs randomness
+     */
+    public void setRandomStream(SplittableRandom rng);
+
+    /**
+     * Creates an instance with the same parameters that can be used by another simulation
+     */
+    public IStrategy copy();
 }
@@ -0,0 +1,14 @@
+package contracts;
+
+/**
+ * Distribution of whole values that can be drawn from without boxing
+ */
+public interface IntDistribution extends Distribution<Integer> {
+
+    public int nextInt();
+
+    /**
+     * Writes length draws into the buffer, starting at the offset
+     */
+    public void fill(int[] buffer, int offset, int length);
+}
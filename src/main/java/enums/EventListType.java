@@ -0,0 +1,46 @@
+package enums;
+
+import contracts.IEventList;
+import models.CEventList;
+import models.CalendarEventList;
+
+public enum EventListType {
+    HEAP(0),
+    CALENDAR(1);
+
+    protected int id;
+
+    EventListType(int id) {
+        this.id = id;
+    }
+
+    public boolean isHeap() {
+        return this.id == 0;
+    }
+
+    public boolean isCalendar() {
+        return this.id == 1;
+    }
+
+    /**
+     * Creates a new empty future event list of this type
+     */
+    public IEventList create() {
+        switch (this.id) {
+            case 0:
+                return new CEventList();
+            case 1:
+                return new CalendarEventList();
+            default:
+                throw new RuntimeException("unsupported event list type");
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (this.isCalendar())
+            return "CALENDAR";
+        else
+            return "HEAP";
+    }
+}
@@ -0,0 +1,29 @@
+package enums;
+
+/**
+ * Type codes of the events, used to look up the listeners of an event without instanceof checks.
+ * Custom events can use any code from CUSTOM onwards.
+ */
+public enum EventType {
+    SIMULATION_STOPPED(0),
+    PRODUCT_CREATED(1),
+    PRODUCTION_STARTED(2),
+    PRODUCTION_FINISHED(3),
+    MACHINE_STARTED(4),
+    MACHINE_STOPPED(5);
+
+    /**
+     * First type code that is free for custom events
+     */
+    public static final int CUSTOM = 6;
+
+    protected int id;
+
+    EventType(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+}
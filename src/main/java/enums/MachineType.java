@@ -12,6 +12,10 @@ public enum MachineType {
         this.id = id;
     }
 
+    public int getId() {
+        return this.id;
+    }
+
     public boolean isCorporate() {
         return this.id == 0;
     }
@@ -29,7 +33,11 @@ public enum MachineType {
     }
 
     public boolean canAccept(Product product){
-        if (product.type().isCorporate() && this.isConsumer())
+        return this.canAccept(product.type());
+    }
+
+    public boolean canAccept(ProductType type){
+        if (type.isCorporate() && this.isConsumer())
             return false;
 
         return true;
@@ -1,7 +1,7 @@
 package enums;
 
 import configs.SimulationConfig;
-import contracts.Distribution;
+import contracts.IArrivalRateFactory;
 
 public enum ProductType {
     CORPORATE(0),
@@ -13,6 +13,10 @@ public enum ProductType {
         this.id = id;
     }
 
+    public int getId() {
+        return this.id;
+    }
+
     public boolean isCorporate() {
         return this.id == 0;
     }
@@ -21,11 +25,11 @@ public enum ProductType {
         return this.id == 1;
     }
 
-    public Distribution<Double> getServiceTimeDistribution() {
+    public IArrivalRateFactory getArrivalRate() {
         if (this.isConsumer())
-            return SimulationConfig.CONSUMER_SERVICE_DISTRIBUTION;
+            return SimulationConfig.CONSUMER_ARRIVAL_RATE;
 
-        return SimulationConfig.CORPORATE_SERVICE_DISTRIBUTION;
+        return SimulationConfig.CORPORATE_ARRIVAL_RATE;
     }
 
     @Override
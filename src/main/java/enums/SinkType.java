@@ -0,0 +1,46 @@
+package enums;
+
+import contracts.ProductAcceptor;
+import models.Sink;
+import models.StatisticsSink;
+
+public enum SinkType {
+    PRODUCTS(0),
+    STATISTICS(1);
+
+    protected int id;
+
+    SinkType(int id) {
+        this.id = id;
+    }
+
+    public boolean isProducts() {
+        return this.id == 0;
+    }
+
+    public boolean isStatistics() {
+        return this.id == 1;
+    }
+
+    /**
+     * Creates a new empty sink of this type
+     */
+    public ProductAcceptor create(String name) {
+        switch (this.id) {
+            case 0:
+                return new Sink(name);
+            case 1:
+                return new StatisticsSink(name);
+            default:
+                throw new RuntimeException("unsupported sink type");
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (this.isStatistics())
+            return "STATISTICS";
+        else
+            return "PRODUCTS";
+    }
+}
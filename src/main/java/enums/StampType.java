@@ -0,0 +1,39 @@
+package enums;
+
+/**
+ * Events a product is stamped with on its way through the system.
+ * The id is stored as a byte in the product trace.
+ */
+public enum StampType {
+    CREATED(0),
+    IN_PRODUCTION(1),
+    FINISHED_PRODUCTION(2);
+
+    protected static final StampType[] BY_ID = StampType.values();
+
+    protected int id;
+
+    StampType(int id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return (byte) this.id;
+    }
+
+    public boolean isCreated() {
+        return this.id == 0;
+    }
+
+    public boolean isInProduction() {
+        return this.id == 1;
+    }
+
+    public boolean isFinishedProduction() {
+        return this.id == 2;
+    }
+
+    public static StampType fromId(int id) {
+        return BY_ID[id];
+    }
+}
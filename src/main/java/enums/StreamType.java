@@ -0,0 +1,22 @@
+package enums;
+
+/**
+ * The stochastic components of a simulation, every component draws from its own random stream
+ */
+public enum StreamType {
+    CONSUMER_ARRIVALS(0),
+    CORPORATE_ARRIVALS(1),
+    CONSUMER_SERVICE(2),
+    CORPORATE_SERVICE(3),
+    STRATEGY(4);
+
+    protected int id;
+
+    StreamType(int id) {
+        this.id = id;
+    }
+
+    public int getId() {
+        return this.id;
+    }
+}
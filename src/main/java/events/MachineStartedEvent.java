@@ -1,6 +1,7 @@
 package events;
 
 import abstracts.AbstractEvent;
+import enums.EventType;
 import models.Machine;
 
 public class MachineStartedEvent extends AbstractEvent {
@@ -8,7 +9,7 @@ public class MachineStartedEvent extends AbstractEvent {
     protected Machine machine;
 
     public MachineStartedEvent(double time, Machine machine) {
-        super(time);
+        super(time, EventType.MACHINE_STARTED.getId());
         this.machine = machine;
     }
 
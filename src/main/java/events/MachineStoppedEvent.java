@@ -1,6 +1,7 @@
 package events;
 
 import abstracts.AbstractEvent;
+import enums.EventType;
 import models.Machine;
 
 public class MachineStoppedEvent extends AbstractEvent {
@@ -8,7 +9,7 @@ public class MachineStoppedEvent extends AbstractEvent {
     protected Machine machine;
 
     public MachineStoppedEvent(double time, Machine machine) {
-        super(time);
+        super(time, EventType.MACHINE_STOPPED.getId());
         this.machine = machine;
     }
 
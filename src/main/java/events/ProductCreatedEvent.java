@@ -1,11 +1,27 @@
 package events;
 
 import abstracts.AbstractProductEvent;
+import contracts.IEventStream;
+import enums.EventType;
 import models.Product;
 
 public class ProductCreatedEvent extends AbstractProductEvent {
 
+    /**
+     * The stream that created this event, null if the event was not streamed
+     */
+    protected IEventStream source;
+
     public ProductCreatedEvent(double time, String station, Product product) {
-        super(time,station, product);
+        super(time, EventType.PRODUCT_CREATED.getId(), station, product);
+    }
+
+    public ProductCreatedEvent(double time, String station, Product product, IEventStream source) {
+        super(time, EventType.PRODUCT_CREATED.getId(), station, product);
+        this.source = source;
+    }
+
+    public IEventStream getSource() {
+        return source;
     }
 }
@@ -1,6 +1,7 @@
 package events;
 
 import abstracts.AbstractProductEvent;
+import enums.EventType;
 import models.Machine;
 import models.Product;
 
@@ -9,7 +10,7 @@ public class ProductionFinishedEvent extends AbstractProductEvent {
     protected Machine machine;
 
     public ProductionFinishedEvent(double time, Product product, Machine machine) {
-        super(time, machine.getName(),product);
+        super(time, EventType.PRODUCTION_FINISHED.getId(), machine.getName(), product);
         this.machine = machine;
     }
 
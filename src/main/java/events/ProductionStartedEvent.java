@@ -1,6 +1,7 @@
 package events;
 
 import abstracts.AbstractProductEvent;
+import enums.EventType;
 import models.Machine;
 import models.Product;
 
@@ -9,7 +10,7 @@ public class ProductionStartedEvent extends AbstractProductEvent {
     protected Machine machine;
 
     public ProductionStartedEvent(double time, Product product, Machine machine) {
-        super(time, machine.getName(), product);
+        super(time, EventType.PRODUCTION_STARTED.getId(), machine.getName(), product);
         this.machine = machine;
     }
 
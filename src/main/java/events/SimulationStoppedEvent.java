@@ -1,11 +1,12 @@
 package events;
 
 import abstracts.AbstractEvent;
+import enums.EventType;
 
 public class SimulationStoppedEvent extends AbstractEvent {
 
     public SimulationStoppedEvent(double tme) {
-        super(tme);
+        super(tme, EventType.SIMULATION_STOPPED.getId());
     }
 
 }
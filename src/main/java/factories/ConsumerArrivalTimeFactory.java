@@ -3,7 +3,8 @@ package factories;
 import contracts.IArrivalRateFactory;
 import models.ArrivalRate;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 public class ConsumerArrivalTimeFactory implements IArrivalRateFactory {
     protected final double lambda;
@@ -14,11 +15,40 @@ public class ConsumerArrivalTimeFactory implements IArrivalRateFactory {
 
     protected final double minRateTime;
 
+    /**
+     * Width in seconds of the intervals the rate is bounded on
+     */
+    protected static final double INTERVAL = 60;
+
+    /**
+     * Highest and lowest rate within every interval of the period
+     */
+    protected final double[] majorants;
+
+    protected final double[] minorants;
+
     public ConsumerArrivalTimeFactory(double avgArrivalRatePerMinute, double periodHours, double minimumArrivalRatePerMinute, double hourOfMinimumArrivalTime) {
         this.lambda = avgArrivalRatePerMinute / 60;
         this.period = periodHours * 60 * 60;
         this.minRateValue = minimumArrivalRatePerMinute / 60;
         this.minRateTime = hourOfMinimumArrivalTime * 60 * 60;
+
+        int intervals = (int) Math.ceil(this.period / INTERVAL);
+        this.majorants = new double[intervals];
+        this.minorants = new double[intervals];
+
+        double rate = this.function(0);
+        for (int i = 0; i < intervals; i++) {
+            double next = this.function(Math.min((i + 1) * INTERVAL, this.period));
+
+            this.majorants[i] = Math.max(rate, next);
+            this.minorants[i] = Math.min(rate, next);
+            rate = next;
+        }
+
+        // a sinusoid only has extremes between the ends of an interval in the ones holding its peak and trough
+        this.majorants[this.intervalOf(this.period / 2 + this.minRateTime)] = 2 * this.lambda - this.minRateValue;
+        this.minorants[this.intervalOf(this.minRateTime)] = this.minRateValue;
     }
 
     @Override
@@ -28,38 +58,40 @@ public class ConsumerArrivalTimeFactory implements IArrivalRateFactory {
 
     @Override
     public double[] sampleArrivalRates() {
-        ArrayList<Double> t = new ArrayList<>();
-        ArrayList<Double> s = new ArrayList<>();
+        return this.sampleArrivalRates(new SplittableRandom());
+    }
 
-        t.add(0.0);
-        s.add(0.0);
+    /**
+     * Thinning against the highest rate of every interval instead of the peak of the whole day, so almost no candidates
+     * are rejected. Candidates below the lowest rate of their interval are accepted without evaluating the sinusoid.
+     */
+    @Override
+    public double[] sampleArrivalRates(SplittableRandom rng) {
+        double[] arrivals = new double[(int) (this.lambda * this.period) + 64];
+        int n = 0;
 
+        for (int i = 0; i < this.majorants.length; i++) {
+            double end = Math.min((i + 1) * INTERVAL, this.period);
+            double majorant = this.majorants[i];
 
-        double LM = this.getUpperBound();
-        double D;
-        double u, w;
-        int n = 0;
-        int m = 0;
+            // 1 - u lies in (0, 1], so the logarithm stays finite
+            double time = i * INTERVAL - Math.log(1 - rng.nextDouble()) / majorant;
 
-        while (s.get(m) < this.period) {
-            u = Math.random();
-            w = -(Math.log(u)/ LM);
-            s.add(m+1,s.get(m) + w);
+            while (time < end) {
+                double d = rng.nextDouble() * majorant;
 
-            D = Math.random();
-            if (D < (this.function(s.get(m+1)) / LM)) {
-                t.add(n+1,s.get(m+1));
-                n += 1;
-            }
-            m += 1;
-        }
+                if (d < this.minorants[i] || d < this.function(time)) {
+                    if (n == arrivals.length)
+                        arrivals = Arrays.copyOf(arrivals, n << 1);
 
-        if(t.get(n) >= this.period)
-            t.remove(n);
+                    arrivals[n++] = time;
+                }
 
-        t.remove(0);
+                time -= Math.log(1 - rng.nextDouble()) / majorant;
+            }
+        }
 
-        return t.stream().mapToDouble(d -> d).toArray();
+        return Arrays.copyOf(arrivals, n);
     }
 
     @Override
@@ -67,14 +99,37 @@ public class ConsumerArrivalTimeFactory implements IArrivalRateFactory {
         return this.function(time);
     }
 
+    @Override
+    public double expectedArrivals(double from, double to) {
+        double frequency = 2 * Math.PI / this.period;
+        double phase = this.period / 4 + this.minRateTime;
+
+        return this.lambda * (to - from) - ((this.lambda - this.minRateValue) / frequency)
+                * (Math.cos(frequency * (to - phase)) - Math.cos(frequency * (from - phase)));
+    }
+
     protected double function(double time) {
         return ((lambda-minRateValue) * Math.sin(
                 (2 * Math.PI / (period)) * (time - ((period / 4) + minRateTime))
         ) + lambda);
     }
 
+    /**
+     * Peak of the rate over the whole period
+     */
     public double getUpperBound() {
-        return this.lambda * (1) + this.lambda + this.minRateValue;
+        return 2 * this.lambda - this.minRateValue;
+    }
+
+    /**
+     * Interval of the period a time that repeats every period falls in
+     */
+    protected int intervalOf(double time) {
+        double offset = time % this.period;
+        if (offset < 0)
+            offset += this.period;
+
+        return Math.min((int) (offset / INTERVAL), this.majorants.length - 1);
     }
 
 }
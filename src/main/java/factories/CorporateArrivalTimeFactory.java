@@ -4,7 +4,8 @@ import configs.SimulationConfig;
 import contracts.IArrivalRateFactory;
 import models.ArrivalRate;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 public class CorporateArrivalTimeFactory implements IArrivalRateFactory {
 
@@ -24,38 +25,46 @@ public class CorporateArrivalTimeFactory implements IArrivalRateFactory {
 
     @Override
     public double[] sampleArrivalRates() {
-        ArrayList<Double> t = new ArrayList<>();
-        ArrayList<Double> s = new ArrayList<>();
+        return this.sampleArrivalRates(new SplittableRandom());
+    }
+
+    /**
+     * The rate is constant within every hour, so arrivals are drawn hour by hour from a homogeneous
+     * Poisson process. Exponential gaps are memoryless, restarting at every hour boundary keeps the process exact.
+     */
+    @Override
+    public double[] sampleArrivalRates(SplittableRandom rng) {
+        double[] arrivals = new double[this.expectedArrivals() + 64];
+        int n = 0;
 
-        t.add(0.0);
-        s.add(0.0);
+        for (int start = 0; start < this.period; start += 3600) {
+            double end = Math.min(start + 3600, this.period);
+            double rate = this.function(start);
 
+            if (rate <= 0)
+                continue;
 
-        double LM = 1.0/60;
-        double D;
-        double u, w;
-        int n = 0;
-        int m = 0;
+            // 1 - u lies in (0, 1], so the logarithm stays finite
+            double time = start - Math.log(1 - rng.nextDouble()) / rate;
 
-        while (s.get(m) < this.period) {
-            u = Math.random();
-            w = -(Math.log(u)/ LM);
-            s.add(m+1,s.get(m) + w);
+            while (time < end) {
+                if (n == arrivals.length)
+                    arrivals = Arrays.copyOf(arrivals, n << 1);
 
-            D = Math.random();
-            if (D < (this.function(s.get(m+1)) / LM)) {
-                t.add(n+1,s.get(m+1));
-                n += 1;
+                arrivals[n++] = time;
+                time -= Math.log(1 - rng.nextDouble()) / rate;
             }
-            m += 1;
         }
 
-        if(t.get(n) >= this.period)
-            t.remove(n);
-
-        t.remove(0);
+        return Arrays.copyOf(arrivals, n);
+    }
 
-        return t.stream().mapToDouble(d -> d).toArray();
+    protected int expectedArrivals() {
+        double total = 0;
+        for (int start = 0; start < this.period; start += 3600) {
+            total += this.function(start) * (Math.min(start + 3600, this.period) - start);
+        }
+        return (int) total;
     }
 
     @Override
@@ -63,9 +72,19 @@ public class CorporateArrivalTimeFactory implements IArrivalRateFactory {
         return this.function(time);
     }
 
+    @Override
+    public double expectedArrivals(double from, double to) {
+        double total = 0;
+        for (double start = from; start < to; ) {
+            double end = Math.min(to, (this.timeToHour(start) + 1) * 3600.0);
+            total += this.function(start) * (end - start);
+            start = end;
+        }
+        return total;
+    }
+
     protected double function(double time) {
         int h = this.timeToHour(time);
-        String t;
         if(h>23)
             h -=24;
         return this.ranges[h]/60.0;
@@ -2,11 +2,12 @@ package factories;
 
 import abstracts.AbstractEvent;
 import abstracts.AbstractEventFactory;
+import contracts.IEventStream;
 import enums.ProductType;
 import events.ProductCreatedEvent;
 import models.Product;
 
-public class ProductEventFactory extends AbstractEventFactory {
+public class ProductEventFactory extends AbstractEventFactory implements IEventStream {
 
     /**
      * Interarrival times
@@ -18,6 +19,16 @@ public class ProductEventFactory extends AbstractEventFactory {
      */
     protected ProductType productType;
 
+    /**
+     * Position of the stream in the interarrival times
+     */
+    protected int cursor = 0;
+
+    /**
+     * Arrival time of the last streamed event
+     */
+    protected double streamTime = 0;
+
 
     public ProductEventFactory(String name, double[] interarrivalTimes, ProductType productType) {
         super(name);
@@ -49,4 +60,18 @@ public class ProductEventFactory extends AbstractEventFactory {
         return events;
     }
 
+    /**
+     * Creates the next arrival only when it is asked for, so the event list
+     * holds one pending arrival per source instead of all arrivals of the day
+     */
+    @Override
+    public AbstractEvent next() {
+        if (this.cursor >= this.iaTimes.length)
+            return null;
+
+        this.streamTime += this.iaTimes[this.cursor++];
+
+        return new ProductCreatedEvent(this.streamTime, this.name, new Product(this.productType), this);
+    }
+
 }
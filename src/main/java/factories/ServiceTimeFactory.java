@@ -1,10 +1,14 @@
 package factories;
 
-import contracts.Distribution;
+import configs.ServiceTimesConfig;
+import contracts.DoubleDistribution;
+import enums.ProductType;
 import statistics.LeftTruncatedNormalDistribution;
 import statistics.NormalDistribution;
 import contracts.IServiceTimeFactory;
 
+import java.util.SplittableRandom;
+
 public class ServiceTimeFactory implements IServiceTimeFactory {
 
     protected final double mean;
@@ -16,23 +20,39 @@ public class ServiceTimeFactory implements IServiceTimeFactory {
     protected final NormalDistribution distribution;
 
     public ServiceTimeFactory(double mean, double std, int leftTruncValue) {
+        this(mean, std, leftTruncValue, new SplittableRandom());
+    }
+
+    public ServiceTimeFactory(double mean, double std, int leftTruncValue, SplittableRandom rng) {
         this.mean = mean;
         this.std = std;
         this.leftTruncValue = leftTruncValue;
 
-        this.distribution = new LeftTruncatedNormalDistribution(this.mean, this.std, this.leftTruncValue);
+        this.distribution = new LeftTruncatedNormalDistribution(this.mean, this.std, this.leftTruncValue, rng);
+    }
+
+    /**
+     * Factory of the configured service times of a product type, drawing from the given stream
+     */
+    public static ServiceTimeFactory of(ProductType type, SplittableRandom rng) {
+        if (type.isConsumer())
+            return new ServiceTimeFactory(ServiceTimesConfig.CONSUMER_SERVICE_TIME_MEAN, ServiceTimesConfig.CONSUMER_SERVICE_TIME_STD, ServiceTimesConfig.CONSUMER_SERVICE_TIME_TRUNC_LEFT, rng);
+
+        return new ServiceTimeFactory(ServiceTimesConfig.CORPORATE_SERVICE_TIME_MEAN, ServiceTimesConfig.CORPORATE_SERVICE_TIME_STD, ServiceTimesConfig.CORPORATE_SERVICE_TIME_TRUNC_LEFT, rng);
     }
 
-    public Distribution<Double> getDistribution(){
+    public DoubleDistribution getDistribution(){
         return this.distribution;
     }
 
     public double build() {
-        return this.distribution.sample();
+        return this.distribution.nextDouble();
     }
 
-    public Double[] build(int size) {
-        return this.distribution.sample(size);
+    public double[] build(int size) {
+        double[] samples = new double[size];
+        this.distribution.fill(samples, 0, size);
+        return samples;
     }
 
     @Override
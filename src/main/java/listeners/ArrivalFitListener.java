@@ -0,0 +1,42 @@
+package listeners;
+
+import contracts.IListener;
+import events.ProductCreatedEvent;
+import models.Product;
+import statistics.StreamingFitTest;
+
+/**
+ * Tests the inter-arrival times against the arrival rate as the products arrive.
+ * The expected amount of arrivals between two arrivals of a non-homogeneous Poisson process is exponential
+ * with mean 1 (time rescaling), so 1 - exp(-expected) is uniform when the rate fits.
+ */
+public class ArrivalFitListener implements IListener<ProductCreatedEvent> {
+
+    /**
+     * Test and time of the previous arrival per product type id
+     */
+    protected final StreamingFitTest[] fits;
+
+    protected final double[] previousArrivals;
+
+    public ArrivalFitListener(StreamingFitTest[] fits) {
+        this.fits = fits;
+        this.previousArrivals = new double[fits.length];
+    }
+
+    @Override
+    public void handle(ProductCreatedEvent event) {
+        Product product = event.getProduct();
+        double time = event.getExecutionTime();
+
+        // products carried over from the previous day arrived before the start of this one
+        if (time < 0)
+            return;
+
+        int id = product.type().getId();
+        double expected = product.type().getArrivalRate().expectedArrivals(this.previousArrivals[id], time);
+
+        this.fits[id].add(1 - Math.exp(-expected));
+        this.previousArrivals[id] = time;
+    }
+}
@@ -1,21 +1,21 @@
 package listeners;
 
+import contracts.IEventList;
 import contracts.IListener;
-import contracts.IQueue;
+import contracts.IRouter;
 import events.MachineStartedEvent;
 import events.ProductionStartedEvent;
-import models.CEventList;
 import models.Machine;
 import models.Product;
 
 public class AssignMachineToQueueListener implements IListener<MachineStartedEvent> {
 
-    protected IQueue queue;
+    protected final IRouter router;
 
-    protected final CEventList events;
+    protected final IEventList events;
 
-    public AssignMachineToQueueListener(IQueue queue, CEventList events) {
-        this.queue = queue;
+    public AssignMachineToQueueListener(IRouter router, IEventList events) {
+        this.router = router;
         this.events = events;
     }
 
@@ -27,7 +27,7 @@ public class AssignMachineToQueueListener implements IListener<MachineStartedEve
         machine.setIdle();
         machine.enable();
 
-        Product product = this.queue.assign(machine);
+        Product product = this.router.selectQueue(machine).assign(machine);
 
         if (product != null)
             this.events.add(new ProductionStartedEvent(event.getExecutionTime(), product, machine));
@@ -1,42 +1,36 @@
 package listeners;
 
+import contracts.IEventList;
 import contracts.IListener;
-import contracts.IQueue;
+import contracts.IRouter;
+import enums.StampType;
 import events.ProductionFinishedEvent;
 import events.ProductionStartedEvent;
-import models.CEventList;
 import models.Product;
-import models.Sink;
-
-import java.util.Random;
 
 public class FinishProductionListener implements IListener<ProductionFinishedEvent> {
 
-    protected final IQueue queue;
-
-    protected final CEventList events;
+    protected final IRouter router;
 
-    protected final Sink sink;
+    protected final IEventList events;
 
-    public FinishProductionListener(IQueue queue, CEventList events, Sink sink) {
-        this.queue = queue;
+    public FinishProductionListener(IRouter router, IEventList events) {
+        this.router = router;
         this.events = events;
-        this.sink = sink;
     }
 
     @Override
     public void handle(ProductionFinishedEvent event) {
 
-        event.getProduct().stamp(event.getExecutionTime(), "FINISHED_PRODUCTION", event.getStation());
-
-            this.sink.giveProduct(event.getProduct());
+        event.getProduct().stamp(event.getExecutionTime(), StampType.FINISHED_PRODUCTION, event.getStation());
 
+        this.router.selectSink(event.getProduct()).giveProduct(event.getProduct());
 
         //ONCE A MACHINE IS FINISHED SET IT TO IDLE AND ASSIGN A NEW PRODUCT TO IT
 
         event.getMachine().setIdle();
 
-        Product product = this.queue.ask(event.getMachine());
+        Product product = this.router.selectQueue(event.getProduct()).ask(event.getMachine());
 
         if (product != null)
             this.events.add(new ProductionStartedEvent(event.getExecutionTime(), product, event.getMachine()));
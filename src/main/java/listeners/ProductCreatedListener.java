@@ -1,28 +1,33 @@
 package listeners;
 
+import contracts.IEventList;
 import contracts.IListener;
 import contracts.IQueue;
+import contracts.IStrategy;
+import enums.StampType;
 import events.ProductCreatedEvent;
 import events.ProductionStartedEvent;
 import models.Machine;
-import models.CEventList;
 
 public class ProductCreatedListener implements IListener<ProductCreatedEvent> {
 
-    protected final IQueue queue;
+    protected final IStrategy strategy;
 
-    protected final CEventList events;
+    protected final IEventList events;
 
-    public ProductCreatedListener(IQueue queue, CEventList events) {
-        this.queue = queue;
+    public ProductCreatedListener(IStrategy strategy, IEventList events) {
+        this.strategy = strategy;
         this.events = events;
     }
 
     @Override
     public void handle(ProductCreatedEvent event) {
-        event.getProduct().stamp(event.getExecutionTime(), "CREATED", event.getStation());
+        event.getProduct().stamp(event.getExecutionTime(), StampType.CREATED, event.getStation());
         event.getProduct().setArrivalTime(event.getExecutionTime());
-        Machine machine = this.queue.add(event.getProduct());
+
+        //SELECT QUEUE FOR THIS PRODUCT BASED ON A STRATEGY
+        IQueue queue = this.strategy.execute(event.getExecutionTime(), event.getProduct());
+        Machine machine = queue.add(event.getProduct());
 
         if (machine != null)
             this.events.add(new ProductionStartedEvent(event.getExecutionTime(), event.getProduct(), machine));
@@ -0,0 +1,28 @@
+package listeners;
+
+import abstracts.AbstractEvent;
+import contracts.IEventList;
+import contracts.IListener;
+import events.ProductCreatedEvent;
+
+/**
+ * Streamed sources only have one pending arrival, this schedules the one after it
+ */
+public class ScheduleNextArrivalListener implements IListener<ProductCreatedEvent> {
+
+    protected final IEventList events;
+
+    public ScheduleNextArrivalListener(IEventList events) {
+        this.events = events;
+    }
+
+    @Override
+    public void handle(ProductCreatedEvent event) {
+        if (event.getSource() == null)
+            return;
+
+        AbstractEvent next = event.getSource().next();
+        if (next != null)
+            this.events.add(next);
+    }
+}
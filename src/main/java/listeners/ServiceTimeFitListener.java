@@ -0,0 +1,36 @@
+package listeners;
+
+import contracts.IListener;
+import contracts.IRouter;
+import events.ProductionStartedEvent;
+import models.Product;
+import statistics.StreamingFitTest;
+
+/**
+ * Tests the service times against their distribution as they are drawn, has to be registered after the {@link StartProductionListener}
+ */
+public class ServiceTimeFitListener implements IListener<ProductionStartedEvent> {
+
+    protected final IRouter router;
+
+    /**
+     * Test per product type id
+     */
+    protected final StreamingFitTest[] fits;
+
+    public ServiceTimeFitListener(IRouter router, StreamingFitTest[] fits) {
+        this.router = router;
+        this.fits = fits;
+    }
+
+    @Override
+    public void handle(ProductionStartedEvent event) {
+        Product product = event.getProduct();
+
+        // products carried over from the previous day may only have the rest of their service time left
+        if (product.getArrivalTime() < 0)
+            return;
+
+        this.fits[product.type().getId()].add(this.router.selectServiceTimeDistribution(product).cdf(product.getTimeInProduction()));
+    }
+}
@@ -1,30 +1,35 @@
 package listeners;
 
+import contracts.IEventList;
 import contracts.IListener;
-import contracts.IQueue;
+import contracts.IRouter;
+import enums.StampType;
 import events.ProductionFinishedEvent;
 import events.ProductionStartedEvent;
-import models.CEventList;
 
 public class StartProductionListener implements IListener<ProductionStartedEvent> {
 
-    protected final IQueue queue;
+    protected final IRouter router;
 
-    protected final CEventList events;
+    protected final IEventList events;
 
-    public StartProductionListener(IQueue queue, CEventList events) {
-        this.queue = queue;
+    public StartProductionListener(IRouter router, IEventList events) {
+        this.router = router;
         this.events = events;
     }
 
     @Override
     public void handle(ProductionStartedEvent event) {
-        event.getProduct().stamp(event.getExecutionTime(), "IN_PRODUCTION", event.getStation());
+        event.getProduct().stamp(event.getExecutionTime(), StampType.IN_PRODUCTION, event.getStation());
 
         if (!event.getProduct().hasQueueTime())
-            event.getProduct().setQueueTime(event.getExecutionTime() - event.getProduct().getTimes().get(0));
+            event.getProduct().setQueueTime(event.getExecutionTime() - event.getProduct().getTime(0));
 
         event.getProduct().setServicedBy(event.getMachine().getType());
+
+        if (!event.getProduct().hasProductionTime())
+            event.getProduct().setProductionTime(this.router.selectServiceTimeDistribution(event.getProduct()).nextDouble());
+
         this.events.add(new ProductionFinishedEvent(event.getExecutionTime() + event.getProduct().getTimeInProduction(), event.getProduct(), event.getMachine()));
     }
 }
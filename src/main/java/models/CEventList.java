@@ -1,6 +1,7 @@
 package models;
 
 import abstracts.AbstractEvent;
+import contracts.IEventList;
 
 import java.util.*;
 
@@ -9,100 +10,212 @@ import java.util.*;
  * Events are created here and it is ensured that they are processed in the proper order
  * The simulation clock is located here.
  *
+ * The pending events are kept in a binary min-heap ordered on execution time.
+ * Events with an equal execution time are processed in the order they were added.
+ *
  * @author Joel Karel
  * @version %I%, %G%
  */
-public class CEventList {
+public class CEventList implements IEventList {
+
+    protected static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Heap of events that have to be executed
+     */
+    protected AbstractEvent[] events = new AbstractEvent[INITIAL_CAPACITY];
+
+    /**
+     * Execution times of the events, kept next to the heap to avoid a virtual call per comparison
+     */
+    protected double[] times = new double[INITIAL_CAPACITY];
+
     /**
-     * List of events that have to be executed
+     * Insertion sequence of the events, used to keep equal execution times in FIFO order
      */
-    protected final LinkedList<AbstractEvent> events = new LinkedList<>();
+    protected long[] sequences = new long[INITIAL_CAPACITY];
 
     /**
-     * Decides if the eventlist needs to be resorted
+     * Amount of events in the heap
      */
-    protected boolean dirty = false;
+    protected int size = 0;
 
+    /**
+     * Sequence number that will be given to the next event
+     */
+    protected long sequence = 0;
+
+    /**
+     * Returns a sorted snapshot of the pending events
+     */
     public List<AbstractEvent> all() {
-        this.checkIfDirty();
-        return events;
+        Integer[] order = this.sortedOrder();
+        List<AbstractEvent> list = new ArrayList<>(this.size);
+
+        for (Integer index : order) {
+            list.add(this.events[index]);
+        }
+        return list;
     }
 
+    @Override
     public int count() {
-        return this.events.size();
+        return this.size;
     }
 
+    @Override
     public boolean empty() {
-        return this.events.isEmpty();
+        return this.size == 0;
     }
 
     public AbstractEvent get(int index) {
-        this.checkIfDirty();
-        return this.events.get(index);
+        this.checkIndex(index);
+
+        if (index == 0)
+            return this.events[0];
+
+        return this.events[this.sortedOrder()[index]];
     }
 
     public AbstractEvent remove(int index) {
-        this.checkIfDirty();
-        return this.events.remove(index);
+        this.checkIndex(index);
+
+        return this.removeAt(index == 0 ? 0 : this.sortedOrder()[index]);
     }
 
+    @Override
     public AbstractEvent removeFirst() {
-        this.checkIfDirty();
-
-        try {
-            return this.events.removeFirst();
-        } catch (NoSuchElementException e) {
+        if (this.size == 0)
             return null;
-        }
-    }
 
-    public void addUnsorted(AbstractEvent evnt){
-        this.dirty = true;
+        return this.removeAt(0);
+    }
 
-        // Else the new event is appended to the list
-        events.addLast(evnt);
+    @Override
+    public void addUnsorted(AbstractEvent evnt) {
+        this.add(evnt);
     }
 
     /**
      * Method for the construction of a new event.
      */
+    @Override
     public void add(AbstractEvent evnt) {
-        // First create a new event using the parameters
-        // Now it is examined where the event has to be inserted in the list
-        // Loop through it with a counter because the eventlist is a linked list.
+        if (this.size == this.events.length)
+            this.grow();
 
-        int counter = 0;
-        for (AbstractEvent event : this.events) {
+        int index = this.size++;
+        this.events[index] = evnt;
+        this.times[index] = evnt.getExecutionTime();
+        this.sequences[index] = this.sequence++;
 
-            if (event.getExecutionTime() > evnt.getExecutionTime()) {
-                // If an event is found in the list that has to be executed after the current event
+        this.siftUp(index);
+    }
 
-                // Then the new event is inserted before that element
-                this.events.add(counter, evnt);
-                return;
-            }
-            counter++;
+    protected AbstractEvent removeAt(int index) {
+        AbstractEvent event = this.events[index];
+        int last = --this.size;
+
+        if (index != last) {
+            this.move(last, index);
+            this.events[last] = null;
+
+            this.siftDown(index);
+            this.siftUp(index);
+        } else {
+            this.events[last] = null;
         }
 
-        // Else the new event is appended to the list
-        events.addLast(evnt);
+        return event;
     }
 
-    protected void checkIfDirty() {
-        if (this.dirty && !this.empty()) {
-            this.sortEventList();
-            this.dirty = false;
+    protected void siftUp(int index) {
+        AbstractEvent event = this.events[index];
+        double time = this.times[index];
+        long seq = this.sequences[index];
+
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!earlier(time, seq, this.times[parent], this.sequences[parent]))
+                break;
+
+            this.move(parent, index);
+            index = parent;
+        }
+
+        this.set(index, event, time, seq);
+    }
+
+    protected void siftDown(int index) {
+        AbstractEvent event = this.events[index];
+        double time = this.times[index];
+        long seq = this.sequences[index];
+        int half = this.size >>> 1;
+
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+
+            if (right < this.size && earlier(this.times[right], this.sequences[right], this.times[child], this.sequences[child]))
+                child = right;
+
+            if (!earlier(this.times[child], this.sequences[child], time, seq))
+                break;
+
+            this.move(child, index);
+            index = child;
         }
+
+        this.set(index, event, time, seq);
+    }
+
+    /**
+     * Decides if the first event has to be executed before the second one
+     */
+    protected static boolean earlier(double time, long seq, double otherTime, long otherSeq) {
+        return time < otherTime || (time == otherTime && seq < otherSeq);
     }
 
-    protected void sortEventList() {
-        Collections.sort(this.events, new Comparator<AbstractEvent>() {
+    protected void move(int from, int to) {
+        this.set(to, this.events[from], this.times[from], this.sequences[from]);
+    }
+
+    protected void set(int index, AbstractEvent event, double time, long seq) {
+        this.events[index] = event;
+        this.times[index] = time;
+        this.sequences[index] = seq;
+    }
+
+    protected void grow() {
+        int capacity = this.events.length << 1;
+
+        this.events = Arrays.copyOf(this.events, capacity);
+        this.times = Arrays.copyOf(this.times, capacity);
+        this.sequences = Arrays.copyOf(this.sequences, capacity);
+    }
+
+    /**
+     * Heap indices of the events in the order they will be executed
+     */
+    protected Integer[] sortedOrder() {
+        Integer[] order = new Integer[this.size];
+        for (int i = 0; i < this.size; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, new Comparator<Integer>() {
             @Override
-            public int compare(AbstractEvent e1, AbstractEvent e2) {
-                if (e1.getExecutionTime() < e2.getExecutionTime()) return -1;
-                if (e1.getExecutionTime() > e2.getExecutionTime()) return 1;
-                return 0;
+            public int compare(Integer e1, Integer e2) {
+                if (times[e1] < times[e2]) return -1;
+                if (times[e1] > times[e2]) return 1;
+                return Long.compare(sequences[e1], sequences[e2]);
             }
         });
+        return order;
+    }
+
+    protected void checkIndex(int index) {
+        if (index < 0 || index >= this.size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,320 @@
+package models;
+
+import abstracts.AbstractEvent;
+import contracts.IEventList;
+
+/**
+ * Future event list based on a calendar queue (R. Brown, 1988).
+ * Events are hashed on their execution time into buckets of a fixed width, every bucket is a small sorted list.
+ * Dequeuing walks the buckets like the days of a calendar year, which makes add and removeFirst O(1) amortised
+ * as long as the bucket width matches the spacing of the pending events.
+ *
+ * The amount of buckets follows the amount of pending events, and the bucket width is resampled from the front
+ * of the list on every resize and whenever the observed scanning cost shows it no longer fits the event density
+ * (e.g. when the sparse night shift turns into the daytime peak).
+ * Events with an equal execution time are processed in the order they were added.
+ */
+public class CalendarEventList implements IEventList {
+
+    protected static final int MIN_BUCKETS = 2;
+
+    /**
+     * Maximum amount of events sampled from the front of the list to estimate a new bucket width
+     */
+    protected static final int WIDTH_SAMPLE_SIZE = 25;
+
+    /**
+     * Average amount of empty buckets skipped per dequeue, or list nodes passed per enqueue,
+     * above which the bucket width is recalculated
+     */
+    protected static final double MAX_AVG_SCAN = 3.0;
+
+    protected static class Node {
+        protected final AbstractEvent event;
+        protected final double time;
+        protected final long sequence;
+
+        /**
+         * Absolute bucket number, floor(time / width)
+         */
+        protected long slot;
+
+        protected Node next;
+
+        protected Node(AbstractEvent event, long sequence) {
+            this.event = event;
+            this.time = event.getExecutionTime();
+            this.sequence = sequence;
+        }
+    }
+
+    protected Node[] buckets;
+
+    protected double width;
+
+    protected int size = 0;
+
+    protected long sequence = 0;
+
+    /**
+     * Bucket that is currently being processed, and its absolute bucket number
+     */
+    protected int currentBucket;
+    protected long currentSlot;
+
+    /**
+     * Execution time of the last dequeued event
+     */
+    protected double lastTime;
+
+    /**
+     * Disabled while the list is sampling itself to prevent nested resizes
+     */
+    protected boolean resizeEnabled = true;
+
+    /**
+     * Scanning cost since the last resize, used to detect a bucket width that no longer fits
+     */
+    protected long emptyBucketsScanned = 0;
+    protected long nodesPassed = 0;
+    protected int dequeues = 0;
+    protected int enqueues = 0;
+
+    public CalendarEventList() {
+        this(MIN_BUCKETS, 1.0);
+    }
+
+    public CalendarEventList(int buckets, double width) {
+        this.init(Math.max(MIN_BUCKETS, buckets), width, 0.0);
+    }
+
+    @Override
+    public int count() {
+        return this.size;
+    }
+
+    @Override
+    public boolean empty() {
+        return this.size == 0;
+    }
+
+    @Override
+    public void addUnsorted(AbstractEvent event) {
+        this.add(event);
+    }
+
+    @Override
+    public void add(AbstractEvent event) {
+        this.enqueue(new Node(event, this.sequence++));
+        this.size++;
+
+        if (this.resizeEnabled && this.size > 2 * this.buckets.length)
+            this.resize(2 * this.buckets.length);
+    }
+
+    @Override
+    public AbstractEvent removeFirst() {
+        Node node = this.dequeue();
+
+        if (node == null)
+            return null;
+
+        if (this.resizeEnabled) {
+            if (this.size < this.buckets.length / 2 - 2 && this.buckets.length > MIN_BUCKETS)
+                this.resize(this.buckets.length / 2);
+            else if (this.dequeues >= this.buckets.length && this.widthOutOfBalance())
+                this.resize(this.buckets.length);
+        }
+
+        return node.event;
+    }
+
+    public int getBucketCount() {
+        return this.buckets.length;
+    }
+
+    public double getBucketWidth() {
+        return this.width;
+    }
+
+    protected void init(int bucketCount, double width, double startTime) {
+        this.buckets = new Node[bucketCount];
+        this.width = width;
+        this.lastTime = startTime;
+        this.currentSlot = this.slot(startTime);
+        this.currentBucket = this.bucket(this.currentSlot);
+    }
+
+    /**
+     * Links a node into its bucket, keeping the bucket sorted on (time, sequence)
+     */
+    protected void enqueue(Node node) {
+        node.slot = this.slot(node.time);
+        int index = this.bucket(node.slot);
+
+        // An event before the current position of the calendar (e.g. events added before the start)
+        // moves the calendar back so it will not be skipped
+        if (node.time < this.lastTime) {
+            this.lastTime = node.time;
+            this.currentSlot = node.slot;
+            this.currentBucket = index;
+        }
+
+        Node head = this.buckets[index];
+        if (head == null || earlier(node, head)) {
+            node.next = head;
+            this.buckets[index] = node;
+        } else {
+            Node previous = head;
+            while (previous.next != null && !earlier(node, previous.next)) {
+                previous = previous.next;
+                this.nodesPassed++;
+            }
+            node.next = previous.next;
+            previous.next = node;
+        }
+
+        this.enqueues++;
+    }
+
+    protected Node dequeue() {
+        if (this.size == 0)
+            return null;
+
+        int bucketCount = this.buckets.length;
+
+        for (int i = 0; i < bucketCount; i++) {
+            Node head = this.buckets[this.currentBucket];
+
+            if (head != null && head.slot <= this.currentSlot)
+                return this.unlinkHead();
+
+            this.emptyBucketsScanned++;
+            this.currentSlot++;
+            if (++this.currentBucket == bucketCount)
+                this.currentBucket = 0;
+        }
+
+        // Nothing due within a whole year: jump straight to the earliest event
+        int earliest = -1;
+        for (int i = 0; i < bucketCount; i++) {
+            Node head = this.buckets[i];
+            if (head != null && (earliest == -1 || earlier(head, this.buckets[earliest])))
+                earliest = i;
+        }
+
+        this.currentBucket = earliest;
+        this.currentSlot = this.buckets[earliest].slot;
+
+        return this.unlinkHead();
+    }
+
+    protected Node unlinkHead() {
+        Node head = this.buckets[this.currentBucket];
+        this.buckets[this.currentBucket] = head.next;
+        head.next = null;
+
+        this.size--;
+        this.dequeues++;
+        this.lastTime = head.time;
+
+        return head;
+    }
+
+    /**
+     * Rebuilds the calendar with a new amount of buckets and a freshly sampled bucket width
+     */
+    protected void resize(int bucketCount) {
+        double newWidth = this.sampleWidth();
+        Node[] old = this.buckets;
+
+        this.init(Math.max(MIN_BUCKETS, bucketCount), newWidth, this.lastTime);
+
+        for (Node head : old) {
+            Node node = head;
+            while (node != null) {
+                Node next = node.next;
+                node.next = null;
+                this.enqueue(node);
+                node = next;
+            }
+        }
+
+        this.resetScanCost();
+    }
+
+    /**
+     * Estimates a bucket width from the spacing of the first events in the list.
+     * Separations larger than twice the average are ignored so a single gap does not blow up the width.
+     */
+    protected double sampleWidth() {
+        int samples = Math.min(this.size, WIDTH_SAMPLE_SIZE);
+
+        if (samples < 2)
+            return this.width;
+
+        this.resizeEnabled = false;
+
+        Node[] nodes = new Node[samples];
+        for (int i = 0; i < samples; i++) {
+            nodes[i] = this.dequeue();
+        }
+        for (Node node : nodes) {
+            this.enqueue(node);
+            this.size++;
+        }
+
+        this.resizeEnabled = true;
+
+        double average = (nodes[samples - 1].time - nodes[0].time) / (samples - 1);
+
+        double total = 0;
+        int count = 0;
+        for (int i = 1; i < samples; i++) {
+            double separation = nodes[i].time - nodes[i - 1].time;
+            if (separation <= 2 * average) {
+                total += separation;
+                count++;
+            }
+        }
+
+        double width = count > 0 ? 3 * total / count : 0;
+
+        return width > 0 && !Double.isInfinite(width) ? width : this.width;
+    }
+
+    /**
+     * Decides if the current bucket width makes either dequeuing (too many empty buckets)
+     * or enqueuing (too many events per bucket) expensive
+     */
+    protected boolean widthOutOfBalance() {
+        boolean sparse = this.emptyBucketsScanned > MAX_AVG_SCAN * this.dequeues;
+        boolean crowded = this.enqueues > 0 && this.nodesPassed > MAX_AVG_SCAN * this.enqueues;
+
+        if (!sparse && !crowded) {
+            this.resetScanCost();
+            return false;
+        }
+
+        return true;
+    }
+
+    protected void resetScanCost() {
+        this.emptyBucketsScanned = 0;
+        this.nodesPassed = 0;
+        this.dequeues = 0;
+        this.enqueues = 0;
+    }
+
+    protected long slot(double time) {
+        return (long) Math.floor(time / this.width);
+    }
+
+    protected int bucket(long slot) {
+        return (int) Math.floorMod(slot, (long) this.buckets.length);
+    }
+
+    protected static boolean earlier(Node node, Node other) {
+        return node.time < other.time || (node.time == other.time && node.sequence < other.sequence);
+    }
+}
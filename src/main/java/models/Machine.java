@@ -27,6 +27,22 @@ public class Machine {
 
     protected MachineType type;
 
+    /**
+     * Queue the machine is assigned to, it is notified whenever the machine becomes (un)available
+     */
+    protected Queue queue;
+
+    /**
+     * Links of the list of idle machines kept by the queue
+     */
+    protected Machine previousIdle;
+    protected Machine nextIdle;
+    protected boolean listedIdle = false;
+
+    /**
+     * Whether the queue currently counts the machine as operational
+     */
+    protected boolean countedOperational = false;
 
     public Machine(String n, MachineType type) {
         this.name = n;
@@ -55,10 +71,12 @@ public class Machine {
     public void setIdle() {
         this.product = null;
         this.idle = true;
+        this.availabilityChanged();
     }
 
     public void setBusy() {
         this.idle = false;
+        this.availabilityChanged();
     }
 
     public boolean isIdle() {
@@ -79,10 +97,17 @@ public class Machine {
 
     public void disable() {
         this.operational = false;
+        this.availabilityChanged();
     }
 
     public void enable() {
         this.operational = true;
+        this.availabilityChanged();
+    }
+
+    protected void availabilityChanged() {
+        if (this.queue != null)
+            this.queue.update(this);
     }
 
     public Product getProduct() {
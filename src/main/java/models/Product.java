@@ -3,8 +3,10 @@ package models;
 import configs.SimulationConfig;
 import enums.MachineType;
 import enums.ProductType;
+import enums.StampType;
+import utils.StationNames;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Product that is send trough the system
@@ -14,11 +16,18 @@ import java.util.ArrayList;
  */
 public class Product {
     /**
-     * Stamps for the products
+     * A product is normally stamped on creation, start and end of production
      */
-    protected ArrayList<Double> times = new ArrayList<>();
-    protected ArrayList<String> events = new ArrayList<>();
-    protected ArrayList<String> stations = new ArrayList<>();
+    protected static final int INITIAL_STAMPS = 3;
+
+    /**
+     * Stamps for the products, the events are StampType ids and the stations StationNames ids
+     */
+    protected double[] times = new double[INITIAL_STAMPS];
+    protected byte[] events = new byte[INITIAL_STAMPS];
+    protected int[] stations = new int[INITIAL_STAMPS];
+
+    protected int stamps = 0;
 
     protected final ProductType type;
 
@@ -58,9 +67,13 @@ public class Product {
         this.productionTime = time;
     }
 
+    public boolean hasProductionTime() {
+        return this.productionTime != -1;
+    }
+
     public double getTimeInProduction() {
-        if (this.productionTime == -1)
-            this.productionTime = this.type().getServiceTimeDistribution().sample();
+        if (!this.hasProductionTime())
+            throw new RuntimeException("Product production time not initialized");
 
         return this.productionTime;
     }
@@ -108,42 +121,57 @@ public class Product {
         return this.type;
     }
 
-    public void stamp(double time, String event, String station) {
-        times.add(time);
-        events.add(event);
-        stations.add(station);
+    public void stamp(double time, StampType event, String station) {
+        if (this.stamps == this.times.length) {
+            int capacity = this.stamps << 1;
+            this.times = Arrays.copyOf(this.times, capacity);
+            this.events = Arrays.copyOf(this.events, capacity);
+            this.stations = Arrays.copyOf(this.stations, capacity);
+        }
+
+        this.times[this.stamps] = time;
+        this.events[this.stamps] = event.getId();
+        this.stations[this.stamps] = StationNames.id(station);
+        this.stamps++;
+    }
+
+    public int getStampCount() {
+        return this.stamps;
+    }
+
+    public double getTime(int stamp) {
+        return this.times[stamp];
     }
 
-    public ArrayList<Double> getTimes() {
-        return times;
+    public StampType getEvent(int stamp) {
+        return StampType.fromId(this.events[stamp]);
     }
 
-    public ArrayList<String> getEvents() {
-        return events;
+    public int getStationId(int stamp) {
+        return this.stations[stamp];
     }
 
-    public ArrayList<String> getStations() {
-        return stations;
+    public String getStation(int stamp) {
+        return StationNames.name(this.stations[stamp]);
     }
 
     public double[] getTimesAsArray() {
-        times.trimToSize();
-        double[] tmp = new double[times.size()];
-        for (int i = 0; i < times.size(); i++) {
-            tmp[i] = (times.get(i)).doubleValue();
-        }
-        return tmp;
+        return Arrays.copyOf(this.times, this.stamps);
     }
 
     public String[] getEventsAsArray() {
-        String[] tmp = new String[events.size()];
-        tmp = events.toArray(tmp);
+        String[] tmp = new String[this.stamps];
+        for (int i = 0; i < this.stamps; i++) {
+            tmp[i] = this.getEvent(i).toString();
+        }
         return tmp;
     }
 
     public String[] getStationsAsArray() {
-        String[] tmp = new String[stations.size()];
-        tmp = stations.toArray(tmp);
+        String[] tmp = new String[this.stamps];
+        for (int i = 0; i < this.stamps; i++) {
+            tmp[i] = this.getStation(i);
+        }
         return tmp;
     }
 
@@ -1,21 +1,58 @@
 package models;
 
 import contracts.IQueue;
+import enums.MachineType;
+import enums.ProductType;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class Queue implements IQueue {
     /**
-     * List in which the products are kept
+     * The enum constants, values() clones its array on every call
      */
-    protected final ArrayList<Product> queue = new ArrayList<>();
+    private static final MachineType[] MACHINE_TYPES = MachineType.values();
+    private static final ProductType[] PRODUCT_TYPES = ProductType.values();
+
+    /**
+     * Lines in which the waiting products are kept, one per product type
+     */
+    protected final WaitingLine[] lines = new WaitingLine[PRODUCT_TYPES.length];
+
+    /**
+     * Sequence number given to the next waiting product, keeps the arrival order across the lines
+     */
+    protected long sequence = 0;
+
+    /**
+     * Amount of waiting products
+     */
+    protected int waiting = 0;
 
     /**
      * List of machines
      */
     protected final ArrayList<Machine> machines = new ArrayList<>();
 
+    /**
+     * Idle and operational machines per machine type, linked through the machines themselves.
+     * Machines are appended when they become available, so the head is the machine that has been idle the longest.
+     */
+    protected final Machine[] idleHeads = new Machine[MACHINE_TYPES.length];
+    protected final Machine[] idleTails = new Machine[MACHINE_TYPES.length];
+
+    /**
+     * Amount of assigned machines that are operational, and the amount of those that are idle
+     */
+    protected int operational = 0;
+    protected int idle = 0;
+
+    public Queue() {
+        for (ProductType type : PRODUCT_TYPES) {
+            this.lines[type.getId()] = new WaitingLine();
+        }
+    }
+
     /**
      * Add a new product to the queue
      * Try to process it immediately and return the agent processing it
@@ -23,64 +60,176 @@ public class Queue implements IQueue {
      */
     @Override
     public Machine add(Product product) {
-        this.removeInOperationalMachines();
+        for (MachineType type : MACHINE_TYPES) {
+            Machine machine = this.idleHeads[type.getId()];
 
-        for (Machine machine : this.machines) {
-            if (machine.give(product)) {
+            if (machine != null && type.canAccept(product) && machine.give(product)) {
                 return machine;
             }
         }
-        this.queue.add(product);
+        this.lines[product.type().getId()].add(product, this.sequence++);
+        this.waiting++;
 
         return null;
     }
 
     /**
      * An agent is asking for a new product
+     * It gets the product that has been waiting the longest among the product types it can accept
      * returns null if the agent can process none of the products
      */
     @Override
     public Product ask(Machine machine) {
-        int counter = 0;
-
         if (!machine.isOperational())
-            this.removeInOperationalMachines();
+            return null;
 
-        for (Product product : this.queue) {
-            if (machine.give(product)) {
-                this.queue.remove(counter);
-                return product;
-            }
-            counter++;
+        WaitingLine first = null;
+
+        for (ProductType type : PRODUCT_TYPES) {
+            WaitingLine line = this.lines[type.getId()];
+
+            if (!line.isEmpty() && machine.getType().canAccept(type)
+                    && (first == null || line.peekSequence() < first.peekSequence()))
+                first = line;
         }
 
-        return null;
+        if (first == null || !machine.give(first.peek()))
+            return null;
+
+        this.waiting--;
+
+        return first.poll();
     }
 
-    protected void removeInOperationalMachines() {
-        int counter = 0;
+    @Override
+    public Product assign(Machine machine) {
+        if (machine.queue != this) {
+            if (machine.queue != null)
+                machine.queue.release(machine);
+
+            this.machines.add(machine);
+            machine.queue = this;
+        }
 
-        // Remove like this to avoid a concurrentmodificationexception
-        List<Machine> toRemove = new ArrayList<>();
+        this.update(machine);
 
-        for (Machine machine : this.machines) {
-            if (!machine.isOperational()) {
-                toRemove.add(this.machines.get(counter));
-            }
-            counter++;
+        return this.ask(machine);
+    }
+
+    /**
+     * Keeps the idle list in line with the state of a machine, called by the machine whenever it changes.
+     * A machine that is no longer operational is unassigned as soon as it has finished its product.
+     */
+    protected void update(Machine machine) {
+        boolean available = machine.isIdle() && machine.isOperational();
+
+        if (machine.isOperational() != machine.countedOperational) {
+            machine.countedOperational = machine.isOperational();
+            this.operational += machine.countedOperational ? 1 : -1;
+        }
+
+        if (available && !machine.listedIdle)
+            this.link(machine);
+        else if (!available && machine.listedIdle)
+            this.unlink(machine);
+
+        if (!machine.isOperational() && machine.isIdle())
+            this.release(machine);
+    }
+
+    protected void release(Machine machine) {
+        if (machine.listedIdle)
+            this.unlink(machine);
+
+        if (machine.countedOperational) {
+            machine.countedOperational = false;
+            this.operational--;
         }
-        if (!toRemove.isEmpty())
-            this.machines.removeAll(toRemove);
+
+        this.machines.remove(machine);
+        machine.queue = null;
     }
 
+    protected void link(Machine machine) {
+        int type = machine.getType().getId();
+
+        machine.previousIdle = this.idleTails[type];
+        machine.nextIdle = null;
+
+        if (this.idleTails[type] == null)
+            this.idleHeads[type] = machine;
+        else
+            this.idleTails[type].nextIdle = machine;
+
+        this.idleTails[type] = machine;
+        machine.listedIdle = true;
+        this.idle++;
+    }
+
+    protected void unlink(Machine machine) {
+        int type = machine.getType().getId();
+
+        if (machine.previousIdle == null)
+            this.idleHeads[type] = machine.nextIdle;
+        else
+            machine.previousIdle.nextIdle = machine.nextIdle;
+
+        if (machine.nextIdle == null)
+            this.idleTails[type] = machine.previousIdle;
+        else
+            machine.nextIdle.previousIdle = machine.previousIdle;
+
+        machine.previousIdle = null;
+        machine.nextIdle = null;
+        machine.listedIdle = false;
+        this.idle--;
+    }
+
+    /**
+     * Returns the product that has been waiting the longest, or null if nothing is waiting
+     */
     @Override
-    public Product assign(Machine machine) {
-        this.machines.add(machine);
-        return this.ask(machine);
+    public Product first() {
+        WaitingLine first = null;
+
+        for (WaitingLine line : this.lines) {
+            if (!line.isEmpty() && (first == null || line.peekSequence() < first.peekSequence()))
+                first = line;
+        }
+
+        return first == null ? null : first.peek();
+    }
+
+    @Override
+    public int countOperationalMachines() {
+        return this.operational;
+    }
+
+    @Override
+    public int countIdleMachines() {
+        return this.idle;
     }
 
-    public ArrayList<Product> getQueue() {
-        return queue;
+    /**
+     * Returns the waiting products in order of arrival
+     */
+    public List<Product> getQueue() {
+        List<Product> products = new ArrayList<>(this.waiting);
+        int[] positions = new int[this.lines.length];
+
+        for (int i = 0; i < this.waiting; i++) {
+            int first = -1;
+
+            for (int l = 0; l < this.lines.length; l++) {
+                if (positions[l] < this.lines[l].size() && (first == -1
+                        || this.lines[l].getSequence(positions[l]) < this.lines[first].getSequence(positions[first])))
+                    first = l;
+            }
+
+            products.add(this.lines[first].get(positions[first]++));
+        }
+
+        return products;
     }
 
     public ArrayList<Machine> getMachines() {
@@ -89,6 +238,6 @@ public class Queue implements IQueue {
 
     @Override
     public int count() {
-        return this.queue.size();
+        return this.waiting;
     }
 }
@@ -1,8 +1,14 @@
 package models;
 
 import contracts.ProductAcceptor;
+import enums.StampType;
+import utils.StationNames;
 
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  *	A sink
@@ -12,14 +18,20 @@ import java.util.ArrayList;
 public class Sink implements ProductAcceptor
 {
 
+	/** Initial capacity of the stamp columns */
+	private static final int INITIAL_CAPACITY = 1024;
+
 	/** All products are kept */
 	private ArrayList<Product> products;
 
-	/** All properties of products are kept */
-	private ArrayList<Integer> numbers;
-	private ArrayList<Double> times;
-	private ArrayList<String> events;
-	private ArrayList<String> stations;
+	/** All properties of products are kept, one column per property */
+	private int[] numbers;
+	private double[] times;
+	private byte[] events;
+	private int[] stations;
+
+	/** Amount of stamps stored in the columns */
+	private int size;
 
 	/** Counter to number products */
 	private int number;
@@ -34,10 +46,11 @@ public class Sink implements ProductAcceptor
 	{
 		name = n;
 		products = new ArrayList<>();
-		numbers = new ArrayList<>();
-		times = new ArrayList<>();
-		events = new ArrayList<>();
-		stations = new ArrayList<>();
+		numbers = new int[INITIAL_CAPACITY];
+		times = new double[INITIAL_CAPACITY];
+		events = new byte[INITIAL_CAPACITY];
+		stations = new int[INITIAL_CAPACITY];
+		size = 0;
 		number = 0;
 	}
 	
@@ -47,53 +60,89 @@ public class Sink implements ProductAcceptor
 		number++;
 		products.add(p);
 		// store stamps
-		ArrayList<Double> t = p.getTimes();
-		ArrayList<String> e = p.getEvents();
-		ArrayList<String> s = p.getStations();
-		for(int i=0;i<t.size();i++)
+		int stamps = p.getStampCount();
+		if (size + stamps > times.length)
+			grow(size + stamps);
+		for(int i=0;i<stamps;i++)
 		{
-			numbers.add(number);
-			times.add(t.get(i));
-			events.add(e.get(i));
-			stations.add(s.get(i));
+			numbers[size] = number;
+			times[size] = p.getTime(i);
+			events[size] = p.getEvent(i).getId();
+			stations[size] = p.getStationId(i);
+			size++;
 		}
 		return true;
 	}
-	
+
+	private void grow(int minCapacity)
+	{
+		int capacity = Math.max(minCapacity, times.length << 1);
+		numbers = Arrays.copyOf(numbers, capacity);
+		times = Arrays.copyOf(times, capacity);
+		events = Arrays.copyOf(events, capacity);
+		stations = Arrays.copyOf(stations, capacity);
+	}
+
+	/** Amount of stamps kept by the sink */
+	public int count()
+	{
+		return size;
+	}
+
 	public int[] getNumbers()
 	{
-		numbers.trimToSize();
-		int[] tmp = new int[numbers.size()];
-		for (int i=0; i < numbers.size(); i++)
+		return Arrays.copyOf(numbers, size);
+	}
+
+	public double[] getTimes()
+	{
+		return Arrays.copyOf(times, size);
+	}
+
+	public String[] getEvents()
+	{
+		String[] tmp = new String[size];
+		for (int i=0; i < size; i++)
 		{
-			tmp[i] = (numbers.get(i)).intValue();
+			tmp[i] = StampType.fromId(events[i]).toString();
 		}
 		return tmp;
 	}
 
-	public double[] getTimes()
+	public String[] getStations()
 	{
-		times.trimToSize();
-		double[] tmp = new double[times.size()];
-		for (int i=0; i < times.size(); i++)
+		String[] tmp = new String[size];
+		for (int i=0; i < size; i++)
 		{
-			tmp[i] = (times.get(i)).doubleValue();
+			tmp[i] = StationNames.name(stations[i]);
 		}
 		return tmp;
 	}
 
-	public String[] getEvents()
+	/**
+	*	Read-only views on the columns, they share the storage of the sink and are not copied.
+	*	A view covers the stamps stored at the time it was requested.
+	*/
+	public IntBuffer getNumbersView()
 	{
-		String[] tmp = new String[events.size()];
-		tmp = events.toArray(tmp);
-		return tmp;
+		return IntBuffer.wrap(numbers, 0, size).slice().asReadOnlyBuffer();
 	}
 
-	public String[] getStations()
+	public DoubleBuffer getTimesView()
 	{
-		String[] tmp = new String[stations.size()];
-		tmp = stations.toArray(tmp);
-		return tmp;
+		return DoubleBuffer.wrap(times, 0, size).slice().asReadOnlyBuffer();
+	}
+
+	/** StampType ids of the stamps */
+	public ByteBuffer getEventsView()
+	{
+		return ByteBuffer.wrap(events, 0, size).slice().asReadOnlyBuffer();
+	}
+
+	/** StationNames ids of the stamps */
+	public IntBuffer getStationsView()
+	{
+		return IntBuffer.wrap(stations, 0, size).slice().asReadOnlyBuffer();
 	}
 
 	public ArrayList<Product> getProducts() {
@@ -0,0 +1,33 @@
+package models;
+
+import analysis.StreamingStatistics;
+import contracts.ProductAcceptor;
+
+/**
+ * Sink that folds every finished product into running statistics and drops the product afterwards.
+ * Its memory use does not depend on the amount of products it receives.
+ */
+public class StatisticsSink implements ProductAcceptor {
+
+    protected final String name;
+
+    protected final StreamingStatistics statistics = new StreamingStatistics();
+
+    public StatisticsSink(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public boolean giveProduct(Product product) {
+        this.statistics.add(product);
+        return true;
+    }
+
+    public StreamingStatistics getStatistics() {
+        return statistics;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
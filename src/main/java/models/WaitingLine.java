@@ -0,0 +1,94 @@
+package models;
+
+/**
+ * FIFO line of waiting products backed by a growable ring buffer.
+ * Every product keeps the sequence number it was queued with, so lines of different product types
+ * can be merged back into a single arrival order.
+ */
+public class WaitingLine {
+
+    protected static final int INITIAL_CAPACITY = 16;
+
+    protected Product[] products = new Product[INITIAL_CAPACITY];
+
+    protected long[] sequences = new long[INITIAL_CAPACITY];
+
+    /**
+     * Position of the first product in the buffer
+     */
+    protected int head = 0;
+
+    protected int size = 0;
+
+    public void add(Product product, long sequence) {
+        if (this.size == this.products.length)
+            this.grow();
+
+        int index = this.index(this.size++);
+        this.products[index] = product;
+        this.sequences[index] = sequence;
+    }
+
+    /**
+     * Returns the product that has been waiting the longest, without removing it
+     */
+    public Product peek() {
+        return this.size == 0 ? null : this.products[this.head];
+    }
+
+    public long peekSequence() {
+        return this.sequences[this.head];
+    }
+
+    public Product poll() {
+        if (this.size == 0)
+            return null;
+
+        Product product = this.products[this.head];
+        this.products[this.head] = null;
+
+        this.head = this.index(1);
+        this.size--;
+
+        return product;
+    }
+
+    /**
+     * Returns the i-th product in line, 0 being the head
+     */
+    public Product get(int i) {
+        return this.products[this.index(i)];
+    }
+
+    public long getSequence(int i) {
+        return this.sequences[this.index(i)];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    protected int index(int offset) {
+        // capacity is always a power of two
+        return (this.head + offset) & (this.products.length - 1);
+    }
+
+    protected void grow() {
+        int capacity = this.products.length << 1;
+        Product[] products = new Product[capacity];
+        long[] sequences = new long[capacity];
+
+        for (int i = 0; i < this.size; i++) {
+            products[i] = this.get(i);
+            sequences[i] = this.getSequence(i);
+        }
+
+        this.products = products;
+        this.sequences = sequences;
+        this.head = 0;
+    }
+}
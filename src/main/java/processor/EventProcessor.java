@@ -1,19 +1,30 @@
 package processor;
 
-import abstracts.AbstractEvent;
 import abstracts.AbstractEventProcessor;
-import abstracts.AbstractProductEvent;
+import configs.AnalysisConfig;
+import configs.SimulationConfig;
+import contracts.DoubleDistribution;
+import contracts.IEventList;
 import contracts.IQueue;
+import contracts.IRouter;
 import contracts.IStrategy;
-import events.*;
+import contracts.ProductAcceptor;
+import enums.EventType;
+import enums.ProductType;
+import enums.SinkType;
+import enums.StreamType;
+import factories.ServiceTimeFactory;
 import listeners.*;
-import models.CallAgent;
+import models.CEventList;
+import models.Machine;
 import models.Product;
 import models.Queue;
-import models.Sink;
+import statistics.EventLoopMonitor;
+import statistics.StreamingFitTest;
 import strategies.NoStrategy;
+import utils.RandomStreams;
 
-public class EventProcessor extends AbstractEventProcessor {
+public class EventProcessor extends AbstractEventProcessor implements IRouter {
 
     protected IStrategy strategy;
 
@@ -21,69 +32,114 @@ public class EventProcessor extends AbstractEventProcessor {
 
     protected IQueue corporateQueue = new Queue();
 
-    protected Sink consumerSink = new Sink("CONSUMER_SINK");
+    protected ProductAcceptor consumerSink;
 
-    protected Sink corporateSink = new Sink("CORPORATE_SINK");
+    protected ProductAcceptor corporateSink;
+
+    protected DoubleDistribution consumerServiceTime;
+
+    protected DoubleDistribution corporateServiceTime;
+
+    /**
+     * Input model fits per product type id, only kept when the input models are validated
+     */
+    protected StreamingFitTest[] serviceTimeFits;
+
+    protected StreamingFitTest[] arrivalFits;
 
     public EventProcessor() {
-        this.strategy = new NoStrategy();
-        this.strategy.setQueues(consumerQueue, corporateQueue);
+        this(new NoStrategy());
     }
 
     public EventProcessor(IStrategy strategy) {
-        this.strategy = strategy;
+        this(strategy, new CEventList(), new RandomStreams(SimulationConfig.RANDOM_SEED));
+    }
+
+    public EventProcessor(IStrategy strategy, IEventList events, RandomStreams streams) {
+        this(strategy, events, streams, SinkType.PRODUCTS);
+    }
+
+    public EventProcessor(IStrategy strategy, IEventList events, RandomStreams streams, SinkType sinkType) {
+        this(strategy, events, streams, sinkType, null);
+    }
+
+    /**
+     * @param monitor monitor the event loop reports to, null to leave the event loop uninstrumented
+     */
+    public EventProcessor(IStrategy strategy, IEventList events, RandomStreams streams, SinkType sinkType, EventLoopMonitor monitor) {
+        super(events, monitor);
+        this.createSinks(sinkType);
+        this.strategy = strategy == null ? new NoStrategy() : strategy;
         this.strategy.setQueues(consumerQueue, corporateQueue);
+        this.strategy.setRandomStream(streams.get(StreamType.STRATEGY));
+
+        this.consumerServiceTime = ServiceTimeFactory.of(ProductType.CONSUMER, streams.get(StreamType.CONSUMER_SERVICE)).getDistribution();
+        this.corporateServiceTime = ServiceTimeFactory.of(ProductType.CORPORATE, streams.get(StreamType.CORPORATE_SERVICE)).getDistribution();
+
+        this.registerListeners();
+    }
+
+    protected void createSinks(SinkType type) {
+        this.consumerSink = type.create("CONSUMER_SINK");
+        this.corporateSink = type.create("CORPORATE_SINK");
     }
 
     /**
-     * All the events are caught and processed here.
+     * All the events are caught and processed by these listeners.
      */
-    @Override
-    protected void process(AbstractEvent event) {
-        super.process(event);
-
-        if (event instanceof AbstractProductEvent) {
-            this.processProductEvents((AbstractProductEvent) event);
-        } else if (event instanceof MachineStartedEvent) {
-            IQueue queue = this.selectQueue((CallAgent) ((MachineStartedEvent) event).getMachine());
-            new AssignMachineToQueueListener(queue, this.getEvents()).handle((MachineStartedEvent) event);
-        } else if (event instanceof MachineStoppedEvent) {
-            new StopMachineListener().handle((MachineStoppedEvent) event);
-        }
+    protected void registerListeners() {
+        //SELECT QUEUE FOR THE PRODUCT BASED ON A STRATEGY
+        this.register(EventType.PRODUCT_CREATED, new ProductCreatedListener(this.strategy, this.getEvents()));
+        this.register(EventType.PRODUCTION_STARTED, new StartProductionListener(this, this.getEvents()));
+        this.register(EventType.PRODUCTION_FINISHED, new FinishProductionListener(this, this.getEvents()));
+        this.register(EventType.MACHINE_STARTED, new AssignMachineToQueueListener(this, this.getEvents()));
+        this.register(EventType.MACHINE_STOPPED, new StopMachineListener());
+
+        if (AnalysisConfig.VALIDATE_INPUT_MODELS)
+            this.registerFitListeners();
     }
 
-    protected void processProductEvents(AbstractProductEvent event) {
-        //select the right queue according to the product type
-        IQueue queue = this.selectQueue(event.getProduct());
-        Sink sink = this.selectSink(event.getProduct());
+    protected void registerFitListeners() {
+        this.serviceTimeFits = new StreamingFitTest[ProductType.values().length];
+        this.arrivalFits = new StreamingFitTest[ProductType.values().length];
+        for (int i = 0; i < this.serviceTimeFits.length; i++) {
+            this.serviceTimeFits[i] = new StreamingFitTest();
+            this.arrivalFits[i] = new StreamingFitTest();
+        }
 
-        if (event instanceof ProductCreatedEvent)
-            //SELECT QUEUE FOR THIS LISTENER BASED ON A STRATEGY
-            new ProductCreatedListener(this.strategy.execute(event.getExecutionTime(),event.getProduct()), this.getEvents()).handle((ProductCreatedEvent) event);
-        else if (event instanceof ProductionStartedEvent)
-            new StartProductionListener(queue, this.getEvents()).handle((ProductionStartedEvent) event);
-        else if (event instanceof ProductionFinishedEvent)
-            new FinishProductionListener(queue, this.getEvents(), sink).handle((ProductionFinishedEvent) event);
+        this.register(EventType.PRODUCT_CREATED, new ArrivalFitListener(this.arrivalFits));
+        this.register(EventType.PRODUCTION_STARTED, new ServiceTimeFitListener(this, this.serviceTimeFits));
     }
 
     /**
      * Select the right queue according to the product type
      */
-    protected IQueue selectQueue(Product product) {
+    @Override
+    public IQueue selectQueue(Product product) {
         return product.type().isConsumer() ? this.consumerQueue : this.corporateQueue;
     }
 
     /**
      * Select the right queue according to the agent type
      */
-    protected IQueue selectQueue(CallAgent machine) {
+    @Override
+    public IQueue selectQueue(Machine machine) {
         return machine.getType().isConsumer() ? this.consumerQueue : this.corporateQueue;
     }
 
+    /**
+     * Select the service time distribution according to the product type
+     */
+    @Override
+    public DoubleDistribution selectServiceTimeDistribution(Product product) {
+        return product.type().isConsumer() ? this.consumerServiceTime : this.corporateServiceTime;
+    }
+
     /**
      * Select the right sink according to the product type
      */
-    protected Sink selectSink(Product product) {
+    @Override
+    public ProductAcceptor selectSink(Product product) {
         return product.type().isConsumer() ? this.consumerSink : this.corporateSink;
     }
 
@@ -93,7 +149,17 @@ public class EventProcessor extends AbstractEventProcessor {
     }
 
     @Override
-    public Sink[] getSinks() {
-        return new Sink[]{this.consumerSink, this.corporateSink};
+    public ProductAcceptor[] getSinks() {
+        return new ProductAcceptor[]{this.consumerSink, this.corporateSink};
+    }
+
+    @Override
+    public StreamingFitTest getServiceTimeFit(ProductType type) {
+        return this.serviceTimeFits == null ? null : this.serviceTimeFits[type.getId()];
+    }
+
+    @Override
+    public StreamingFitTest getArrivalFit(ProductType type) {
+        return this.arrivalFits == null ? null : this.arrivalFits[type.getId()];
     }
 }
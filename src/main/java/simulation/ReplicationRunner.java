@@ -0,0 +1,64 @@
+package simulation;
+
+import configs.ReplicationConfig;
+import contracts.IQueue;
+import contracts.ISimulationConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs independent replications of a simulation day concurrently on a fork-join pool.
+ * All replications start from the queues the config holds when run() is called (e.g. after a queue warmup).
+ */
+public class ReplicationRunner {
+
+    protected final ISimulationConfig config;
+
+    protected final int parallelism;
+
+    public ReplicationRunner(ISimulationConfig config) {
+        this(config, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ReplicationRunner(ISimulationConfig config, int parallelism) {
+        this.config = config;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Runs config.getIterations() replications
+     * @return the executed simulators, in replication order
+     */
+    public Simulator[] run() {
+        IQueue[] warmQueues = this.config.getQueues();
+        int replications = this.config.getIterations();
+
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+
+        try {
+            List<ForkJoinTask<Simulator>> tasks = new ArrayList<>();
+
+            for (int i = 0; i < replications; i++) {
+                ReplicationConfig replicationConfig = new ReplicationConfig(this.config, warmQueues, i);
+
+                tasks.add(pool.submit(() -> {
+                    Simulator sim = new Simulator(replicationConfig);
+                    sim.run();
+                    return sim;
+                }));
+            }
+
+            Simulator[] simulators = new Simulator[replications];
+            for (int i = 0; i < replications; i++) {
+                simulators[i] = tasks.get(i).join();
+            }
+
+            return simulators;
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
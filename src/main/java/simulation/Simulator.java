@@ -5,12 +5,17 @@ import configs.SimulationConfig;
 import abstracts.AbstractEvent;
 import abstracts.AbstractEventFactory;
 import contracts.IEventProcessor;
+import contracts.IEventStream;
 import contracts.IQueue;
+import contracts.IRouter;
 import contracts.ISimulationConfig;
+import enums.ProductType;
 import events.ProductCreatedEvent;
 import models.Machine;
 import models.Product;
 import processor.EventProcessor;
+import statistics.EventLoopMonitor;
+import statistics.StreamingFitTest;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -27,7 +32,8 @@ public class Simulator {
 
     public Simulator(ISimulationConfig config) {
         this.config = config;
-        this.processor = config.getStrategy() == null ? new EventProcessor() : new EventProcessor(config.getStrategy());
+        this.processor = new EventProcessor(config.getStrategy(), config.getEventListType().create(), config.getRandomStreams(), config.getSinkType(),
+                config.isEventLoopInstrumented() ? EventLoopMonitor.getInstance() : null);
     }
 
     public Simulator(ISimulationConfig config, IEventProcessor processor) {
@@ -48,18 +54,31 @@ public class Simulator {
     }
 
     public SinkAnalysis consumerAnalysis() {
-        return new SinkAnalysis(this.processor.getSinks()[0], this.processor.getQueues()[0], "Consumer");
+        return new SinkAnalysis(this.processor.getSinks()[0], this.processor.getQueues()[0], "Consumer",
+                this.serviceTimeFit(ProductType.CONSUMER), this.arrivalFit(ProductType.CONSUMER));
     }
 
     public SinkAnalysis corporateAnalysis() {
-        return new SinkAnalysis(this.processor.getSinks()[1], this.processor.getQueues()[1], "Corporate");
+        return new SinkAnalysis(this.processor.getSinks()[1], this.processor.getQueues()[1], "Corporate",
+                this.serviceTimeFit(ProductType.CORPORATE), this.arrivalFit(ProductType.CORPORATE));
+    }
+
+    /**
+     * Only a processor that routes the products collects fits of the input models
+     */
+    protected StreamingFitTest serviceTimeFit(ProductType type) {
+        return this.processor instanceof IRouter ? ((IRouter) this.processor).getServiceTimeFit(type) : null;
+    }
+
+    protected StreamingFitTest arrivalFit(ProductType type) {
+        return this.processor instanceof IRouter ? ((IRouter) this.processor).getArrivalFit(type) : null;
     }
 
     /**
      * initializes the config file
      */
     protected void initConfig() {
-        for (AbstractEventFactory source : this.config.getSources()) {
+        for (AbstractEventFactory source : this.config.getSources(this.config.getRandomStreams())) {
             this.source(source);
         }
 
@@ -84,7 +103,7 @@ public class Simulator {
         for (Product product : queue.getQueue()) {
             Product aProduct = new Product(product.type());
             aProduct.addAdditionalQueueTime(SimulationConfig.SIMULATION_RUNTIME - product.getArrivalTime());
-            AbstractEvent event = new ProductCreatedEvent(product.getTimes().get(0) - SimulationConfig.SIMULATION_RUNTIME, "OLD_QUEUE", aProduct);
+            AbstractEvent event = new ProductCreatedEvent(product.getTime(0) - SimulationConfig.SIMULATION_RUNTIME, "OLD_QUEUE", aProduct);
 
             this.processor.addEvent(event);
         }
@@ -95,9 +114,9 @@ public class Simulator {
             if (machine.isBusy()) {
                 Product product = machine.getProduct();
                 Product newProduct = new Product(product.type());
-                newProduct.setProductionTime(product.getTimes().get(1) + product.getTimeInProduction() - SimulationConfig.SIMULATION_RUNTIME);
+                newProduct.setProductionTime(product.getTime(1) + product.getTimeInProduction() - SimulationConfig.SIMULATION_RUNTIME);
                 newProduct.setQueueTime(product.getQueueTime());
-                AbstractEvent event = new ProductCreatedEvent(product.getTimes().get(0) - SimulationConfig.SIMULATION_RUNTIME, "OLD_FROM_PRODUCTION", newProduct);
+                AbstractEvent event = new ProductCreatedEvent(product.getTime(0) - SimulationConfig.SIMULATION_RUNTIME, "OLD_FROM_PRODUCTION", newProduct);
                 this.processor.addEvent(event);
             }
         }
@@ -106,6 +125,15 @@ public class Simulator {
     protected void bootSources() {
         //Start generating all the events from the sources
         for (AbstractEventFactory source : this.sources) {
+
+            //Streams only schedule their first event, the processor requests the rest when it is due
+            if (source instanceof IEventStream) {
+                AbstractEvent event = ((IEventStream) source).next();
+                if (event != null)
+                    this.processor.addEvent(event);
+                continue;
+            }
+
             for (AbstractEvent event : source.build()) {
                 this.processor.addEvent(event);
             }
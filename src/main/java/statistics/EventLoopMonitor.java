@@ -0,0 +1,228 @@
+package statistics;
+
+import contracts.IEventLoopMonitor;
+import enums.EventType;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of all instrumented event loops of the JVM, registered as an MXBean under simulation:type=EventLoop
+ * the first time it is used. Only the event loops of processors that were given the monitor report to it,
+ * see ISimulationConfig.isEventLoopInstrumented.
+ */
+public class EventLoopMonitor implements IEventLoopMonitor {
+
+    public static final String OBJECT_NAME = "simulation:type=EventLoop";
+
+    protected static final EventType[] EVENT_TYPES = EventType.values();
+
+    protected static volatile EventLoopMonitor instance;
+
+    /**
+     * Events per type code, custom event types share the last counter
+     */
+    protected final LongAdder[] events = new LongAdder[EventType.CUSTOM + 1];
+
+    protected final DoubleAdder simulatedTime = new DoubleAdder();
+
+    protected final AtomicLong peakEventListSize = new AtomicLong();
+
+    /**
+     * Recorders of the event loops that are running
+     */
+    protected final Set<EventLoopRecorder> running = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Wall-clock time of the first run since the last reset, 0 before it
+     */
+    protected volatile long since = 0;
+
+    protected final ConcurrentHashMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    protected EventLoopMonitor() {
+        for (int i = 0; i < this.events.length; i++) {
+            this.events[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * The monitor of this JVM, registered on the platform MBean server
+     */
+    public static EventLoopMonitor getInstance() {
+        if (instance == null) {
+            synchronized (EventLoopMonitor.class) {
+                if (instance == null) {
+                    EventLoopMonitor monitor = new EventLoopMonitor();
+                    try {
+                        ManagementFactory.getPlatformMBeanServer().registerMBean(monitor, new ObjectName(OBJECT_NAME));
+                    } catch (JMException e) {
+                        throw new RuntimeException("cannot register the event loop monitor", e);
+                    }
+                    instance = monitor;
+                }
+            }
+        }
+
+        return instance;
+    }
+
+    /**
+     * Called by an event loop before it processes its first event, the loop reports to the returned recorder
+     */
+    public EventLoopRecorder open() {
+        if (this.since == 0) {
+            synchronized (this) {
+                if (this.since == 0)
+                    this.since = System.nanoTime();
+            }
+        }
+
+        EventLoopRecorder recorder = new EventLoopRecorder(this);
+        this.running.add(recorder);
+
+        return recorder;
+    }
+
+    /**
+     * Called by an event loop once it has stopped
+     */
+    public void close(EventLoopRecorder recorder) {
+        recorder.flush();
+        this.running.remove(recorder);
+    }
+
+    /**
+     * Adds the counters a recorder collected since its last flush
+     */
+    protected void add(long[] events, double simulatedTime, int peakEventListSize) {
+        for (int i = 0; i < events.length; i++) {
+            if (events[i] > 0)
+                this.events[i].add(events[i]);
+        }
+        this.simulatedTime.add(simulatedTime);
+
+        if (peakEventListSize > this.peakEventListSize.get())
+            this.peakEventListSize.accumulateAndGet(peakEventListSize, Math::max);
+    }
+
+    /**
+     * Histogram the latencies of a listener are recorded in, looked up once per run rather than per event
+     */
+    public LatencyHistogram histogram(int type, Object listener) {
+        String name = this.typeName(type) + "/" + listener.getClass().getName();
+        return this.latencies.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    @Override
+    public long getEventsProcessed() {
+        long count = 0;
+        for (LongAdder adder : this.events) {
+            count += adder.sum();
+        }
+
+        return count;
+    }
+
+    @Override
+    public Map<String, Long> getEventsProcessedPerType() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (int i = 0; i < this.events.length; i++) {
+            counts.put(this.typeName(i), this.events[i].sum());
+        }
+
+        return counts;
+    }
+
+    @Override
+    public double getEventsPerSecond() {
+        double seconds = this.wallClockSeconds();
+        return seconds > 0 ? this.getEventsProcessed() / seconds : 0;
+    }
+
+    /**
+     * Events pending in the future event lists of all running loops, as sampled at their last flush
+     */
+    @Override
+    public long getEventListSize() {
+        long size = 0;
+        for (EventLoopRecorder recorder : this.running) {
+            size += recorder.getEventListSize();
+        }
+
+        return size;
+    }
+
+    @Override
+    public long getPeakEventListSize() {
+        return this.peakEventListSize.get();
+    }
+
+    @Override
+    public double getSimulatedToWallClockRatio() {
+        double seconds = this.wallClockSeconds();
+        return seconds > 0 ? this.simulatedTime.sum() / seconds : 0;
+    }
+
+    @Override
+    public Map<String, long[]> getListenerLatencyHistograms() {
+        Map<String, long[]> histograms = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : this.latencies.entrySet()) {
+            histograms.put(entry.getKey(), entry.getValue().frequencies());
+        }
+
+        return histograms;
+    }
+
+    @Override
+    public long[] getLatencyBucketUpperBounds() {
+        return LatencyHistogram.upperBounds();
+    }
+
+    @Override
+    public Map<String, Double> getListenerMeanLatencies() {
+        Map<String, Double> means = new TreeMap<>();
+        for (Map.Entry<String, LatencyHistogram> entry : this.latencies.entrySet()) {
+            means.put(entry.getKey(), entry.getValue().mean());
+        }
+
+        return means;
+    }
+
+    /**
+     * Clears all counters. Loops that are still running add the events since their last flush to the new counters,
+     * but keep timing their listeners into the old histograms until they finish
+     */
+    @Override
+    public synchronized void reset() {
+        for (LongAdder adder : this.events) {
+            adder.reset();
+        }
+        this.simulatedTime.reset();
+        this.peakEventListSize.set(0);
+        this.latencies.clear();
+        this.since = 0;
+    }
+
+    protected double wallClockSeconds() {
+        long since = this.since;
+        return since == 0 ? 0 : (System.nanoTime() - since) / 1e9;
+    }
+
+    protected String typeName(int type) {
+        for (EventType eventType : EVENT_TYPES) {
+            if (eventType.getId() == type)
+                return eventType.toString();
+        }
+
+        return "CUSTOM";
+    }
+}
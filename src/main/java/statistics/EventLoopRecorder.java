@@ -0,0 +1,71 @@
+package statistics;
+
+import enums.EventType;
+
+/**
+ * Counters of a single event loop, only touched by the thread running that loop.
+ * They are added to the monitor every SAMPLE events and when the loop ends,
+ * so loops running in parallel do not contend on the shared counters for every event.
+ */
+public class EventLoopRecorder {
+
+    public static final int SAMPLE = 1024;
+
+    protected final EventLoopMonitor monitor;
+
+    /**
+     * Counters since the last flush, custom event types share the last one
+     */
+    protected final long[] events = new long[EventType.CUSTOM + 1];
+
+    protected double simulatedTime = 0;
+
+    protected int peakEventListSize = 0;
+
+    protected int pending = 0;
+
+    /**
+     * Size of the future event list at the last flush, read by the monitor
+     */
+    protected volatile int eventListSize = 0;
+
+    protected EventLoopRecorder(EventLoopMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * Called for every event the loop takes from its future event list
+     * @param simulatedTime simulated seconds since the previous event of the loop
+     * @param eventListSize events left in the future event list
+     */
+    public void processed(int type, double simulatedTime, int eventListSize) {
+        this.events[Math.min(type, EventType.CUSTOM)]++;
+        this.simulatedTime += simulatedTime;
+
+        if (eventListSize > this.peakEventListSize)
+            this.peakEventListSize = eventListSize;
+
+        if (++this.pending == SAMPLE) {
+            this.eventListSize = eventListSize;
+            this.flush();
+        }
+    }
+
+    /**
+     * Adds the counters since the last flush to the monitor
+     */
+    protected void flush() {
+        this.monitor.add(this.events, this.simulatedTime, this.peakEventListSize);
+
+        for (int i = 0; i < this.events.length; i++) {
+            this.events[i] = 0;
+        }
+        this.simulatedTime = 0;
+        this.peakEventListSize = 0;
+        this.pending = 0;
+    }
+
+    public int getEventListSize() {
+        return this.eventListSize;
+    }
+}
@@ -0,0 +1,62 @@
+package statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of durations in nanoseconds with buckets that double in width.
+ * Bucket i holds durations below 2^(i + 1) ns, the last bucket holds everything above.
+ * Adders keep it cheap to record from event loops that run in parallel.
+ */
+public class LatencyHistogram {
+
+    public static final int BUCKETS = 32;
+
+    protected final LongAdder[] frequencies = new LongAdder[BUCKETS];
+
+    protected final LongAdder total = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.frequencies[i] = new LongAdder();
+        }
+    }
+
+    public void add(long nanos) {
+        int bucket = 63 - Long.numberOfLeadingZeros(nanos | 1);
+        this.frequencies[Math.min(bucket, BUCKETS - 1)].increment();
+        this.total.add(nanos);
+    }
+
+    public long[] frequencies() {
+        long[] frequencies = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            frequencies[i] = this.frequencies[i].sum();
+        }
+
+        return frequencies;
+    }
+
+    public long count() {
+        long count = 0;
+        for (LongAdder frequency : this.frequencies) {
+            count += frequency.sum();
+        }
+
+        return count;
+    }
+
+    public double mean() {
+        long count = this.count();
+        return count > 0 ? (double) this.total.sum() / count : Double.NaN;
+    }
+
+    public static long[] upperBounds() {
+        long[] bounds = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            bounds[i] = 2L << i;
+        }
+        bounds[BUCKETS - 1] = Long.MAX_VALUE;
+
+        return bounds;
+    }
+}
@@ -1,18 +1,78 @@
 package statistics;
 
+import java.util.SplittableRandom;
+
 public class LeftTruncatedNormalDistribution extends NormalDistribution {
 
+    /**
+     * Above this standardized truncation point drawing normals and rejecting the ones below it
+     * accepts less than 40% of the draws, so the tail is sampled with Robert's exponential proposal instead
+     */
+    protected static final double TAIL_THRESHOLD = 0.25;
+
     protected int leftTruncatedValue;
 
+    /**
+     * Truncation point in standard deviations from the mean
+     */
+    protected double alpha;
+
+    /**
+     * Optimal rate of the exponential proposal for the tail
+     */
+    protected double rate;
+
     public LeftTruncatedNormalDistribution(double mean, double sd, int leftTruncatedValue) {
-        super(mean, sd);
+        this(mean, sd, leftTruncatedValue, new SplittableRandom());
+    }
+
+    public LeftTruncatedNormalDistribution(double mean, double sd, int leftTruncatedValue, SplittableRandom rng) {
+        super(mean, sd, rng);
         this.leftTruncatedValue = leftTruncatedValue;
+        this.alpha = (leftTruncatedValue - mean) / sd;
+        this.rate = (this.alpha + Math.sqrt(this.alpha * this.alpha + 4)) / 2;
     }
 
     @Override
-    public Double sample() {
-        double sample = super.sample();
-        return sample < this.leftTruncatedValue ? this.sample() : sample;
+    public double nextDouble() {
+        if (this.alpha > TAIL_THRESHOLD)
+            return Math.max(this.leftTruncatedValue, this.mean + this.std * this.nextTail());
+
+        double sample;
+        do {
+            sample = super.nextDouble();
+        } while (sample < this.leftTruncatedValue);
+
+        return sample;
+    }
+
+    /**
+     * Standard normal draw conditioned on being at least alpha (Robert, 1995).
+     * The acceptance rate only grows with alpha, it is above 75% for any alpha past the threshold.
+     */
+    protected double nextTail() {
+        double z;
+        double distance;
+        do {
+            // 1 - u lies in (0, 1], so the logarithm stays finite
+            z = this.alpha - Math.log(1 - this.rng.nextDouble()) / this.rate;
+            distance = z - this.rate;
+        } while (this.rng.nextDouble() > Math.exp(-distance * distance / 2));
+
+        return z;
+    }
+
+    /**
+     * Computed from the upper tails, (Q(alpha) - Q(z)) / Q(alpha), since the lower distribution function rounds to 1
+     * for a truncation point far into the tail
+     */
+    @Override
+    public double cdf(double x) {
+        if (x < this.leftTruncatedValue)
+            return 0;
+
+        double above = standardTail(this.alpha);
+        return (above - standardTail((x - this.mean) / this.std)) / above;
     }
 
     @Override
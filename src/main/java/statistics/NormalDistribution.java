@@ -1,40 +1,146 @@
 package statistics;
 
-import contracts.Distribution;
+import contracts.DoubleDistribution;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
-public class NormalDistribution implements Distribution<Double> {
+public class NormalDistribution implements DoubleDistribution {
 
     protected double mean;
     protected double std;
 
-    protected Random rng = new Random();
+    protected SplittableRandom rng;
+
+    /**
+     * Ziggurat of 128 layers of equal area under the standard normal curve (Marsaglia and Tsang, 2000)
+     */
+    protected static final int LAYERS = 128;
+
+    /**
+     * Right edge of the lowest layer and the area of every layer
+     */
+    protected static final double R = 3.442619855899;
+    protected static final double V = 9.91256303526217e-3;
+
+    /**
+     * Right edge of every layer and the unnormalized density at that edge, the lowest layer gets the width
+     * a rectangle of its area would have so the tail fits in it
+     */
+    protected static final double[] X = new double[LAYERS + 1];
+    protected static final double[] F = new double[LAYERS + 1];
+
+    static {
+        X[0] = V / Math.exp(-R * R / 2);
+        X[1] = R;
+        for (int i = 2; i < LAYERS; i++) {
+            X[i] = Math.sqrt(-2 * Math.log(V / X[i - 1] + Math.exp(-X[i - 1] * X[i - 1] / 2)));
+        }
+        X[LAYERS] = 0;
+
+        for (int i = 0; i <= LAYERS; i++) {
+            F[i] = Math.exp(-X[i] * X[i] / 2);
+        }
+    }
 
     public NormalDistribution() {
-        this.mean = 0;
-        this.std = 1;
+        this(0, 1);
     }
 
     public NormalDistribution(double mean, double std) {
+        this(mean, std, new SplittableRandom());
+    }
+
+    public NormalDistribution(double mean, double std, SplittableRandom rng) {
         this.mean = mean;
         this.std = std;
+        this.rng = rng;
     }
 
     public Double sample() {
-        return this.mean + this.rng.nextGaussian() * this.std;
+        return this.nextDouble();
     }
 
     public Double[] sample(int size) {
         Double[] samples = new Double[size];
         for (int i = 0; i < size; i++) {
-            samples[i] = this.sample();
+            samples[i] = this.nextDouble();
         }
         return samples;
     }
 
+    @Override
+    public double nextDouble() {
+        return this.mean + this.nextGaussian() * this.std;
+    }
+
+    @Override
+    public void fill(double[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            buffer[i] = this.nextDouble();
+        }
+    }
+
+    @Override
+    public double cdf(double x) {
+        return standardCdf((x - this.mean) / this.std);
+    }
+
+    /**
+     * Standard normal distribution function through the complementary error function,
+     * with a relative error below 1.2e-7
+     */
+    public static double standardCdf(double z) {
+        return SpecialFunctions.erfc(-z / Math.sqrt(2)) / 2;
+    }
+
+    /**
+     * Upper tail 1 - standardCdf(z) of the standard normal distribution, without the cancellation of subtracting
+     * from 1, so it stays accurate for large z
+     */
+    public static double standardTail(double z) {
+        return SpecialFunctions.erfc(z / Math.sqrt(2)) / 2;
+    }
+
     public double density(double x) {
         return Math.exp(-((Math.pow((x - this.mean) / this.std, 2)) / 2) - Math.log(this.std) + (Math.log(Math.PI) / 2));
     }
 
+    /**
+     * Standard normal draw with the ziggurat method, most draws only take one random long and a multiplication
+     */
+    protected double nextGaussian() {
+        while (true) {
+            long bits = this.rng.nextLong();
+            int i = (int) (bits & (LAYERS - 1));
+            // the upper 53 bits give a uniform in [-1, 1) independent of the layer
+            double x = ((bits >>> 11) * 0x1.0p-52 - 1) * X[i];
+
+            if (Math.abs(x) < X[i + 1])
+                return x;
+
+            if (i == 0)
+                return this.nextGaussianTail(x < 0);
+
+            // wedge between the rectangle and the curve
+            double y = F[i] + this.rng.nextDouble() * (F[i + 1] - F[i]);
+            if (y < Math.exp(-x * x / 2))
+                return x;
+        }
+    }
+
+    /**
+     * Draw beyond the lowest layer (Marsaglia, 1964)
+     */
+    protected double nextGaussianTail(boolean negative) {
+        double x;
+        double y;
+        do {
+            // 1 - u lies in (0, 1], so the logarithm stays finite
+            x = -Math.log(1 - this.rng.nextDouble()) / R;
+            y = -Math.log(1 - this.rng.nextDouble());
+        } while (2 * y < x * x);
+
+        return negative ? -(R + x) : R + x;
+    }
+
 }
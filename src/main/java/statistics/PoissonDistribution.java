@@ -1,44 +1,107 @@
 package statistics;
 
-import contracts.Distribution;
-
-import java.util.Random;
-
-public class PoissonDistribution implements Distribution<Integer> {
+import contracts.IntDistribution;
 
+import java.util.SplittableRandom;
 
+public class PoissonDistribution implements IntDistribution {
 
+    /**
+     * From this mean on the transformed rejection sampler is used, below it inversion is cheaper
+     */
+    protected static final double PTRS_THRESHOLD = 10;
 
     protected double mean;
 
-    protected Random rng = new Random();
+    protected SplittableRandom rng;
 
     public PoissonDistribution(double mean) {
+        this(mean, new SplittableRandom());
+    }
+
+    public PoissonDistribution(double mean, SplittableRandom rng) {
         this.mean = mean;
+        this.rng = rng;
     }
 
     public Integer sample() {
-        double lambda = Math.exp(-this.mean);
-        double lambda2 = 1;
-        int n = 0;
-
-        for (double random = 0; (double) n < 1000 * this.mean; ++n) {
-            random = this.rng.nextDouble();
-            lambda2 *= random;
-            if (lambda2 < lambda) {
-                return n;
-            }
-        }
+        return this.nextInt();
+    }
 
-        return n;
+    @Override
+    public int nextInt() {
+        return this.nextInt(this.mean);
+    }
+
+    /**
+     * Draw for a mean that differs per draw, so one instance can serve a rate that changes over time
+     */
+    public int nextInt(double mean) {
+        if (mean <= 0)
+            return 0;
+
+        return mean < PTRS_THRESHOLD ? this.inversion(mean) : this.transformedRejection(mean);
     }
 
     public Integer[] sample(int size) {
         Integer[] numbers = new Integer[size];
 
         for (int i = 0; i < size; i++) {
-            numbers[i] = this.sample();
+            numbers[i] = this.nextInt();
         }
         return numbers;
     }
+
+    @Override
+    public void fill(int[] buffer, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            buffer[i] = this.nextInt();
+        }
+    }
+
+    /**
+     * Sequential search of the cumulative probabilities, takes mean + 1 steps on average
+     */
+    protected int inversion(double mean) {
+        double probability = Math.exp(-mean);
+        double cumulative = probability;
+        double u = this.rng.nextDouble();
+        int k = 0;
+
+        // the cumulative sum can round to just below 1, stop once the terms no longer add anything
+        while (u > cumulative && probability > 0) {
+            k++;
+            probability *= mean / k;
+            cumulative += probability;
+        }
+
+        return k;
+    }
+
+    /**
+     * Transformed rejection with squeeze (Hörmann, 1993), about 1.15 pairs of uniforms per draw for any mean
+     */
+    protected int transformedRejection(double mean) {
+        double logMean = Math.log(mean);
+        double b = 0.931 + 2.53 * Math.sqrt(mean);
+        double a = -0.059 + 0.02483 * b;
+        double inverseAlpha = 1.1239 + 1.1328 / (b - 3.4);
+        double vr = 0.9277 - 3.6224 / (b - 2);
+
+        while (true) {
+            double u = this.rng.nextDouble() - 0.5;
+            double v = this.rng.nextDouble();
+            double us = 0.5 - Math.abs(u);
+            int k = (int) Math.floor((2 * a / us + b) * u + mean + 0.43);
+
+            if (us >= 0.07 && v <= vr)
+                return k;
+
+            if (k < 0 || (us < 0.013 && v > us))
+                continue;
+
+            if (Math.log(v * inverseAlpha / (a / (us * us) + b)) <= -mean + k * logMean - SpecialFunctions.logGamma(k + 1))
+                return k;
+        }
+    }
 }
@@ -0,0 +1,44 @@
+package statistics;
+
+/**
+ * Running mean and variance of a stream of values (Welford's algorithm).
+ * Values are folded in one at a time in constant memory without the cancellation of the naive sum of squares.
+ */
+public class RunningStatistics {
+
+    protected long count = 0;
+
+    protected double mean = 0;
+
+    /**
+     * Sum of the squared differences from the current mean
+     */
+    protected double m2 = 0;
+
+    public void add(double value) {
+        this.count++;
+
+        double delta = value - this.mean;
+        this.mean += delta / this.count;
+        this.m2 += delta * (value - this.mean);
+    }
+
+    public long count() {
+        return this.count;
+    }
+
+    public double mean() {
+        return this.count > 0 ? this.mean : Double.NaN;
+    }
+
+    /**
+     * Unbiased sample variance
+     */
+    public double variance() {
+        return this.count > 1 ? this.m2 / (this.count - 1) : Double.NaN;
+    }
+
+    public double std() {
+        return Math.sqrt(this.variance());
+    }
+}
@@ -0,0 +1,45 @@
+package statistics;
+
+/**
+ * Special functions shared by the distributions and tests
+ * (Numerical Recipes, chapter 6).
+ */
+public class SpecialFunctions {
+
+    protected static final double[] LANCZOS = {
+            57.1562356658629235, -59.5979603554754912, 14.1360979747417471, -0.491913816097620199,
+            .339946499848118887e-4, .465236289270485756e-4, -.983744753048795646e-4, .158088703224912494e-3,
+            -.210264441724104883e-3, .217439618115212643e-3, -.164318106536763890e-3, .844182239838527433e-4,
+            -.261908384015814087e-4, .368991826595316234e-5
+    };
+
+    /**
+     * Natural logarithm of the gamma function (Lanczos approximation)
+     */
+    public static double logGamma(double value) {
+        double y = value;
+        double tmp = value + 5.24218750000000000;
+        tmp = (value + 0.5) * Math.log(tmp) - tmp;
+
+        double series = 0.999999999999997092;
+        for (double coefficient : LANCZOS) {
+            series += coefficient / ++y;
+        }
+
+        return tmp + Math.log(2.5066282746310005 * series / value);
+    }
+
+    /**
+     * Complementary error function with a relative error below 1.2e-7 everywhere,
+     * so it keeps its precision far into the tail (Numerical Recipes, 2nd edition, section 6.2)
+     */
+    public static double erfc(double value) {
+        double x = Math.abs(value);
+        double t = 2 / (2 + x);
+        double erfc = t * Math.exp(-x * x - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+
+        return value >= 0 ? erfc : 2 - erfc;
+    }
+}
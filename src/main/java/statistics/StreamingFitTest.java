@@ -0,0 +1,125 @@
+package statistics;
+
+/**
+ * One-pass Kolmogorov-Smirnov and Anderson-Darling statistics of samples against a fully specified distribution.
+ * Samples are added as their probability under that distribution (F(x)), which is uniform on [0, 1) when the
+ * distribution fits. Only a histogram of these probabilities is kept, so the size is fixed no matter how many samples are added.
+ */
+public class StreamingFitTest {
+
+    public static final int BINS = 1 << 14;
+
+    /**
+     * Critical values at the 5% level for a fully specified distribution
+     */
+    public static final double KS_CRITICAL_FACTOR = 1.358;
+    public static final double AD_CRITICAL_VALUE = 2.492;
+
+    protected long[] frequencies = new long[BINS];
+
+    protected long count = 0;
+
+    /**
+     * Adds a sample by its probability under the hypothesized distribution
+     */
+    public void add(double probability) {
+        int bin = (int) (probability * BINS);
+        this.frequencies[Math.max(0, Math.min(BINS - 1, bin))]++;
+        this.count++;
+    }
+
+    /**
+     * Adds all samples of another test, for instance of another simulation day
+     */
+    public void merge(StreamingFitTest other) {
+        for (int i = 0; i < BINS; i++) {
+            this.frequencies[i] += other.frequencies[i];
+        }
+        this.count += other.count;
+    }
+
+    public long count() {
+        return this.count;
+    }
+
+    /**
+     * Largest distance between the empirical distribution function and the uniform one, read at the bin edges.
+     * It is at most 1 / BINS below the statistic of the raw samples.
+     */
+    public double kolmogorovSmirnov() {
+        double max = 0;
+        long cumulative = 0;
+
+        for (int i = 0; i < BINS; i++) {
+            cumulative += this.frequencies[i];
+            max = Math.max(max, Math.abs((double) cumulative / this.count - (double) (i + 1) / BINS));
+        }
+
+        return max;
+    }
+
+    /**
+     * Asymptotic probability of a distance at least this large when the distribution fits (Stephens, 1970)
+     */
+    public double kolmogorovSmirnovPValue() {
+        double n = Math.sqrt(this.count);
+        double lambda = (n + 0.12 + 0.11 / n) * this.kolmogorovSmirnov();
+
+        double sum = 0;
+        double sign = 1;
+        for (int k = 1; k <= 100; k++) {
+            double term = sign * Math.exp(-2 * k * k * lambda * lambda);
+            sum += term;
+            if (Math.abs(term) < 1e-12)
+                break;
+            sign = -sign;
+        }
+
+        return Math.max(0, Math.min(1, 2 * sum));
+    }
+
+    /**
+     * n times the integral of (F_n(u) - u)^2 / (u (1 - u)), with the samples of a bin placed at its midpoint
+     */
+    public double andersonDarling() {
+        double total = 0;
+        long cumulative = 0;
+        double start = 0;
+
+        for (int i = 0; i < BINS; i++) {
+            if (this.frequencies[i] == 0)
+                continue;
+
+            double midpoint = (i + 0.5) / BINS;
+            total += this.segment(start, midpoint, (double) cumulative / this.count);
+
+            cumulative += this.frequencies[i];
+            start = midpoint;
+        }
+        total += this.segment(start, 1, (double) cumulative / this.count);
+
+        return this.count * total;
+    }
+
+    /**
+     * Integral of (c - u)^2 / (u (1 - u)) from a to b, which splits into -1 + c^2 / u + (1 - c)^2 / (1 - u)
+     */
+    protected double segment(double a, double b, double c) {
+        double integral = -(b - a);
+
+        // F_n is 0 before the first sample and 1 after the last one, so the terms that diverge at the ends drop out
+        if (c > 0)
+            integral += c * c * Math.log(b / a);
+        if (c < 1)
+            integral += (1 - c) * (1 - c) * Math.log((1 - a) / (1 - b));
+
+        return integral;
+    }
+
+    /**
+     * Whether either statistic rejects the distribution at the 5% level
+     */
+    public boolean rejects() {
+        return this.kolmogorovSmirnov() > KS_CRITICAL_FACTOR / Math.sqrt(this.count) || this.andersonDarling() > AD_CRITICAL_VALUE;
+    }
+}
@@ -0,0 +1,206 @@
+package statistics;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Quantiles of the Student t-distribution, computed through the inverse of the regularized incomplete beta function
+ * (Numerical Recipes, 3rd edition, section 6.4 and 6.14).
+ * Critical values are memoised per (degrees of freedom, confidence) since every interval of an analysis asks for the same one.
+ */
+public class StudentT {
+
+    protected static final double EPS = 1e-14;
+
+    protected static final double FPMIN = Double.MIN_NORMAL / EPS;
+
+    protected static final ConcurrentHashMap<Key, Double> criticalValues = new ConcurrentHashMap<>();
+
+    /**
+     * Critical value t such that P(-t < T < t) equals the confidence for a t-distribution with the given degrees of freedom
+     */
+    public static double criticalValue(double confidence, int degreesOfFreedom) {
+        if (confidence <= 0 || confidence >= 1)
+            throw new RuntimeException("confidence level has to be between 0 and 1");
+        if (degreesOfFreedom < 1)
+            throw new RuntimeException("degrees of freedom have to be at least 1");
+
+        Key key = new Key(degreesOfFreedom, confidence);
+        Double value = criticalValues.get(key);
+
+        if (value == null) {
+            value = quantile((1 + confidence) / 2, degreesOfFreedom);
+            criticalValues.putIfAbsent(key, value);
+        }
+
+        return value;
+    }
+
+    /**
+     * Value t for which the cumulative t-distribution with the given degrees of freedom equals p
+     */
+    public static double quantile(double p, int degreesOfFreedom) {
+        if (p == 0.5)
+            return 0;
+        if (p < 0.5)
+            return -quantile(1 - p, degreesOfFreedom);
+
+        double df = degreesOfFreedom;
+
+        // P(|T| > t) = I_x(df / 2, 1 / 2) with x = df / (df + t^2), solved for whichever of x and 1 - x is smallest
+        double y = inverseRegularizedBeta(2 * p - 1, 0.5, df / 2);
+        if (y <= 0.5)
+            return Math.sqrt(df * y / (1 - y));
+
+        double x = inverseRegularizedBeta(2 * (1 - p), df / 2, 0.5);
+        return Math.sqrt(df * (1 - x) / x);
+    }
+
+    /**
+     * Regularized incomplete beta function I_x(a, b)
+     */
+    public static double regularizedBeta(double x, double a, double b) {
+        if (x <= 0)
+            return 0;
+        if (x >= 1)
+            return 1;
+
+        double front = Math.exp(SpecialFunctions.logGamma(a + b) - SpecialFunctions.logGamma(a) - SpecialFunctions.logGamma(b) + a * Math.log(x) + b * Math.log(1 - x));
+
+        if (x < (a + 1) / (a + b + 2))
+            return front * betaContinuedFraction(x, a, b) / a;
+
+        return 1 - front * betaContinuedFraction(1 - x, b, a) / b;
+    }
+
+    /**
+     * Value x for which I_x(a, b) equals p, refined with Halley's method
+     */
+    public static double inverseRegularizedBeta(double p, double a, double b) {
+        if (p <= 0)
+            return 0;
+        if (p >= 1)
+            return 1;
+
+        double a1 = a - 1;
+        double b1 = b - 1;
+        double x;
+
+        if (a >= 1 && b >= 1) {
+            double pp = p < 0.5 ? p : 1 - p;
+            double t = Math.sqrt(-2 * Math.log(pp));
+            x = (2.30753 + t * 0.27061) / (1 + t * (0.99229 + t * 0.04481)) - t;
+            if (p < 0.5)
+                x = -x;
+
+            double al = (x * x - 3) / 6;
+            double h = 2 / (1 / (2 * a - 1) + 1 / (2 * b - 1));
+            double w = (x * Math.sqrt(al + h) / h) - (1 / (2 * b - 1) - 1 / (2 * a - 1)) * (al + 5.0 / 6 - 2 / (3 * h));
+            x = a / (a + b * Math.exp(2 * w));
+        } else {
+            double lna = Math.log(a / (a + b));
+            double lnb = Math.log(b / (a + b));
+            double t = Math.exp(a * lna) / a;
+            double u = Math.exp(b * lnb) / b;
+            double w = t + u;
+
+            if (p < t / w)
+                x = Math.pow(a * w * p, 1 / a);
+            else
+                x = 1 - Math.pow(b * w * (1 - p), 1 / b);
+        }
+
+        double afac = -SpecialFunctions.logGamma(a) - SpecialFunctions.logGamma(b) + SpecialFunctions.logGamma(a + b);
+
+        for (int j = 0; j < 20; j++) {
+            if (x == 0 || x == 1)
+                return x;
+
+            double error = regularizedBeta(x, a, b) - p;
+            double t = Math.exp(a1 * Math.log(x) + b1 * Math.log(1 - x) + afac);
+            double u = error / t;
+
+            t = u / (1 - 0.5 * Math.min(1, u * (a1 / x - b1 / (1 - x))));
+            x -= t;
+
+            if (x <= 0)
+                x = 0.5 * (x + t);
+            if (x >= 1)
+                x = 0.5 * (x + t + 1);
+
+            if (Math.abs(t) < 1e-12 * x && j > 0)
+                break;
+        }
+
+        return x;
+    }
+
+    /**
+     * Continued fraction of the incomplete beta function (modified Lentz's method)
+     */
+    protected static double betaContinuedFraction(double x, double a, double b) {
+        double qab = a + b;
+        double qap = a + 1;
+        double qam = a - 1;
+        double c = 1;
+        double d = 1 - qab * x / qap;
+
+        if (Math.abs(d) < FPMIN)
+            d = FPMIN;
+        d = 1 / d;
+        double h = d;
+
+        for (int m = 1; m < 10000; m++) {
+            int m2 = 2 * m;
+            double aa = m * (b - m) * x / ((qam + m2) * (a + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < FPMIN)
+                d = FPMIN;
+            c = 1 + aa / c;
+            if (Math.abs(c) < FPMIN)
+                c = FPMIN;
+            d = 1 / d;
+            h *= d * c;
+
+            aa = -(a + m) * (qab + m) * x / ((a + m2) * (qap + m2));
+            d = 1 + aa * d;
+            if (Math.abs(d) < FPMIN)
+                d = FPMIN;
+            c = 1 + aa / c;
+            if (Math.abs(c) < FPMIN)
+                c = FPMIN;
+            d = 1 / d;
+
+            double delta = d * c;
+            h *= delta;
+
+            if (Math.abs(delta - 1) <= EPS)
+                break;
+        }
+
+        return h;
+    }
+
+    protected static final class Key {
+        protected final int degreesOfFreedom;
+        protected final double confidence;
+
+        protected Key(int degreesOfFreedom, double confidence) {
+            this.degreesOfFreedom = degreesOfFreedom;
+            this.confidence = confidence;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key))
+                return false;
+
+            Key key = (Key) other;
+            return this.degreesOfFreedom == key.degreesOfFreedom && Double.compare(this.confidence, key.confidence) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.degreesOfFreedom + Double.hashCode(this.confidence);
+        }
+    }
+}
@@ -2,13 +2,31 @@ package strategies;
 
 import abstracts.AbstractStrategy;
 import configs.ArrivalRatesConfig;
-import configs.SimulationConfig;
+import contracts.DoubleDistribution;
 import contracts.IQueue;
+import enums.ProductType;
+import factories.ServiceTimeFactory;
 import models.Product;
 import statistics.PoissonDistribution;
 
+import java.util.SplittableRandom;
+
 public class CorporateQueueSwarmStrategy extends AbstractStrategy {
 
+    protected DoubleDistribution consumerServiceTime;
+
+    /**
+     * Shared by all routing decisions, the mean is given per draw
+     */
+    protected PoissonDistribution corporateArrivals;
+
+    @Override
+    public void setRandomStream(SplittableRandom rng) {
+        super.setRandomStream(rng);
+        this.consumerServiceTime = rng == null ? null : ServiceTimeFactory.of(ProductType.CONSUMER, rng).getDistribution();
+        this.corporateArrivals = rng == null ? null : new PoissonDistribution(0, rng);
+    }
+
     @Override
     public IQueue execute(double time, Product product) {
         if (product.type().isCorporate())
@@ -31,12 +49,13 @@ public class CorporateQueueSwarmStrategy extends AbstractStrategy {
     }
 
     public int sampleCorporateArrivalRate(double rate) {
-        PoissonDistribution distribution = new PoissonDistribution(rate);
-        return distribution.sample();
+        this.random();
+        return this.corporateArrivals.nextInt(rate);
     }
 
     public double sampleConsumerServiceTime() {
-        return SimulationConfig.CONSUMER_SERVICE_DISTRIBUTION.sample();
+        this.random();
+        return this.consumerServiceTime.nextDouble();
     }
 
     protected double getCorporateArrivalRateFromTime(double time) {
@@ -0,0 +1,58 @@
+package utils;
+
+import enums.StreamType;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seedable source of independent random streams.
+ * Every stochastic component gets its own generator derived from the seed and the component,
+ * and every replication gets its own set of streams derived from the seed and the replication number.
+ * The same seed therefore always reproduces the same simulation, also when replications run in parallel.
+ *
+ * The generators are not thread safe, a RandomStreams instance belongs to one simulation at a time.
+ */
+public class RandomStreams {
+
+    protected final long seed;
+
+    /**
+     * Generators per component, created when they are first asked for and kept so consecutive days continue the stream
+     */
+    protected final SplittableRandom[] streams = new SplittableRandom[StreamType.values().length];
+
+    public RandomStreams(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    public SplittableRandom get(StreamType type) {
+        int id = type.getId();
+
+        if (this.streams[id] == null)
+            this.streams[id] = new SplittableRandom(mix(this.seed, id));
+
+        return this.streams[id];
+    }
+
+    /**
+     * Creates the streams of an independent replication
+     */
+    public RandomStreams replication(int index) {
+        return new RandomStreams(mix(~this.seed, index));
+    }
+
+    /**
+     * SplitMix64 finalizer, spreads nearby seeds over the whole seed space
+     * so derived streams do not overlap
+     */
+    protected static long mix(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
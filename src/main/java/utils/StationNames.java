@@ -0,0 +1,37 @@
+package utils;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interns the station names products are stamped with, so traces only have to keep an int per stamp.
+ * Ids are shared by all simulations, lookups of known names do not lock.
+ */
+public class StationNames {
+
+    protected static final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    protected static final ArrayList<String> names = new ArrayList<>();
+
+    public static int id(String name) {
+        Integer id = ids.get(name);
+
+        return id != null ? id : register(name);
+    }
+
+    public static synchronized String name(int id) {
+        return names.get(id);
+    }
+
+    protected static synchronized int register(String name) {
+        Integer id = ids.get(name);
+
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            ids.put(name, id);
+        }
+
+        return id;
+    }
+}
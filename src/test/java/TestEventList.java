@@ -0,0 +1,92 @@
+import abstracts.AbstractEvent;
+import contracts.IEventList;
+import enums.EventListType;
+import events.SimulationStoppedEvent;
+import models.CEventList;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestEventList {
+
+    @Test
+    void testEventsAreRemovedInTimeOrder() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            Random random = new Random(42);
+
+            for (int i = 0; i < 10000; i++) {
+                list.add(new SimulationStoppedEvent(random.nextDouble() * 86400));
+            }
+
+            assertEquals(10000, list.count());
+
+            double previous = -1;
+            while (!list.empty()) {
+                AbstractEvent event = list.removeFirst();
+                assertTrue(event.getExecutionTime() >= previous, type.toString());
+                previous = event.getExecutionTime();
+            }
+
+            assertNull(list.removeFirst());
+        }
+    }
+
+    @Test
+    void testHoldModelKeepsTimeOrder() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+            Random random = new Random(7);
+
+            // negative times like the events transferred from the previous day
+            for (int i = 0; i < 500; i++) {
+                list.add(new SimulationStoppedEvent(-random.nextDouble() * 3600));
+            }
+
+            // schedule a new event at a random time after every processed event, with a denser and a sparser phase
+            double previous = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < 20000; i++) {
+                AbstractEvent event = list.removeFirst();
+                assertTrue(event.getExecutionTime() >= previous, type.toString());
+                previous = event.getExecutionTime();
+
+                double spread = i < 10000 ? 60 : 3600;
+                list.add(new SimulationStoppedEvent(previous + random.nextDouble() * spread));
+            }
+
+            assertEquals(500, list.count());
+        }
+    }
+
+    @Test
+    void testEqualTimesAreFifo() {
+        for (EventListType type : EventListType.values()) {
+            IEventList list = type.create();
+
+            AbstractEvent first = new SimulationStoppedEvent(5.0);
+            AbstractEvent second = new SimulationStoppedEvent(5.0);
+            AbstractEvent third = new SimulationStoppedEvent(5.0);
+            AbstractEvent early = new SimulationStoppedEvent(1.0);
+
+            list.addUnsorted(first);
+            list.add(second);
+            list.add(early);
+            list.addUnsorted(third);
+
+            if (list instanceof CEventList) {
+                assertSame(early, ((CEventList) list).get(0));
+                assertSame(second, ((CEventList) list).all().get(2));
+            }
+
+            assertSame(early, list.removeFirst());
+            assertSame(first, list.removeFirst());
+            assertSame(second, list.removeFirst());
+            assertSame(third, list.removeFirst());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+import enums.AgentShift;
+import enums.MachineType;
+import enums.ProductType;
+import models.CallAgent;
+import models.Machine;
+import models.Product;
+import models.Queue;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestQueue {
+
+    @Test
+    void testLongestIdleAgentTakesTheCall() {
+        Queue queue = new Queue();
+        Machine first = new CallAgent(MachineType.CONSUMER, AgentShift.MORNING, 0);
+        Machine second = new CallAgent(MachineType.CONSUMER, AgentShift.MORNING, 1);
+
+        assertNull(queue.assign(first));
+        assertNull(queue.assign(second));
+
+        assertSame(first, queue.add(new Product(ProductType.CONSUMER)));
+        assertSame(second, queue.add(new Product(ProductType.CONSUMER)));
+
+        // no idle agents left, the call has to wait
+        Product waiting = new Product(ProductType.CONSUMER);
+        assertNull(queue.add(waiting));
+        assertEquals(1, queue.count());
+
+        // the first agent finishes and picks up the waiting call
+        first.setIdle();
+        assertSame(waiting, queue.ask(first));
+        assertEquals(0, queue.count());
+
+        second.setIdle();
+        assertSame(second, queue.add(new Product(ProductType.CONSUMER)));
+    }
+
+    @Test
+    void testAgentOnlyTakesCallsItCanAccept() {
+        Queue queue = new Queue();
+        Machine consumer = new CallAgent(MachineType.CONSUMER, AgentShift.MORNING, 0);
+        Machine corporate = new CallAgent(MachineType.CORPORATE, AgentShift.MORNING, 0);
+
+        queue.assign(consumer);
+
+        assertNull(queue.add(new Product(ProductType.CORPORATE)));
+        assertTrue(consumer.isIdle());
+
+        queue.assign(corporate);
+        assertTrue(corporate.isBusy());
+        assertEquals(0, queue.count());
+
+        assertSame(consumer, queue.add(new Product(ProductType.CONSUMER)));
+    }
+
+    @Test
+    void testStoppedAgentIsUnassignedOnceFinished() {
+        Queue queue = new Queue();
+        Machine idle = new CallAgent(MachineType.CONSUMER, AgentShift.MORNING, 0);
+        Machine busy = new CallAgent(MachineType.CONSUMER, AgentShift.MORNING, 1);
+
+        queue.assign(busy);
+        queue.assign(idle);
+        queue.add(new Product(ProductType.CONSUMER));
+        idle.disable();
+
+        // the agent that was still idle leaves right away
+        assertEquals(1, queue.getMachines().size());
+        assertSame(busy, queue.getMachines().get(0));
+
+        // the busy one keeps its call until it has finished it
+        busy.disable();
+        assertEquals(1, queue.getMachines().size());
+        assertNull(queue.add(new Product(ProductType.CONSUMER)));
+
+        busy.setIdle();
+        assertNull(queue.ask(busy));
+        assertTrue(queue.getMachines().isEmpty());
+        assertFalse(busy.isBusy());
+
+        // starting a new shift assigns it again
+        busy.enable();
+        assertSame(queue.getQueue().get(0), queue.assign(busy));
+        assertEquals(1, queue.getMachines().size());
+    }
+
+    @Test
+    void testWaitingCallsAreServedInArrivalOrder() {
+        Queue queue = new Queue();
+        Machine consumer = new CallAgent(MachineType.CONSUMER, AgentShift.MORNING, 0);
+        Machine corporate = new CallAgent(MachineType.CORPORATE, AgentShift.MORNING, 0);
+
+        // enough calls to wrap and grow the ring buffers
+        Product[] products = new Product[100];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = new Product(i % 3 == 0 ? ProductType.CORPORATE : ProductType.CONSUMER);
+            queue.add(products[i]);
+        }
+
+        assertEquals(products.length, queue.count());
+        for (int i = 0; i < products.length; i++) {
+            assertSame(products[i], queue.getQueue().get(i));
+        }
+
+        // a consumer agent skips the corporate calls, a corporate agent takes whatever call came first
+        assertSame(products[1], queue.assign(consumer));
+        assertSame(products[0], queue.assign(corporate));
+
+        consumer.setIdle();
+        assertSame(products[2], queue.ask(consumer));
+        corporate.setIdle();
+        assertSame(products[3], queue.ask(corporate));
+        corporate.setIdle();
+        assertSame(products[4], queue.ask(corporate));
+
+        assertEquals(products.length - 5, queue.count());
+        assertSame(products[5], queue.getQueue().get(0));
+    }
+
+    @Test
+    void testAgentCountsFollowTheAgents() {
+        Queue queue = new Queue();
+        Machine first = new CallAgent(MachineType.CORPORATE, AgentShift.MORNING, 0);
+        Machine second = new CallAgent(MachineType.CORPORATE, AgentShift.MORNING, 1);
+
+        queue.assign(first);
+        queue.assign(second);
+        assertEquals(2, queue.countOperationalMachines());
+        assertEquals(2, queue.countIdleMachines());
+
+        queue.add(new Product(ProductType.CONSUMER));
+        assertEquals(1, queue.countIdleMachines());
+
+        first.disable();
+        second.disable();
+        assertEquals(0, queue.countOperationalMachines());
+        assertEquals(0, queue.countIdleMachines());
+
+        second.enable();
+        queue.assign(second);
+        assertEquals(1, queue.countOperationalMachines());
+        assertEquals(1, queue.countIdleMachines());
+
+        assertNull(queue.first());
+        Product waiting = new Product(ProductType.CORPORATE);
+        assertSame(second, queue.add(new Product(ProductType.CONSUMER)));
+        queue.add(waiting);
+        queue.add(new Product(ProductType.CONSUMER));
+        assertSame(waiting, queue.first());
+        assertEquals(0, queue.countIdleMachines());
+    }
+}
@@ -1,3 +1,4 @@
+import configs.ScheduleConfig;
 import configs.SimulationConfig;
 import contracts.IStrategy;
 import org.junit.jupiter.api.Test;
@@ -7,16 +8,39 @@ import abstracts.AbstractEventProcessor;
 import contracts.IQueue;
 import contracts.ISimulationConfig;
 import enums.AgentShift;
+import enums.EventListType;
+import enums.EventType;
+import enums.SinkType;
 import enums.MachineType;
 import enums.ProductType;
+import enums.StampType;
 import events.ProductCreatedEvent;
 import factories.AgentFactory;
 import factories.ProductEventFactory;
+import configs.DefaultSimConfig;
+import processor.EventProcessor;
+import simulation.ReplicationRunner;
+import statistics.EventLoopMonitor;
+import statistics.TConfInterval;
+import utils.RandomStreams;
+import models.Product;
 import models.Sink;
+import analysis.SinkAnalysis;
+import analysis.SinkAnalysisAggregator;
 import simulation.Simulator;
+import strategies.CorporateQueueSwarmStrategy;
 import strategies.NoStrategy;
 
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestSimulator {
 
@@ -41,7 +65,7 @@ public class TestSimulator {
             }
 
             @Override
-            public AbstractEventFactory[] getSources() {
+            public AbstractEventFactory[] getSources(RandomStreams streams) {
                 return new AbstractEventFactory[]{
                         new ProductEventFactory("CONSUMER_CALL_SOURCE", consumerTimes, ProductType.CONSUMER),
                         new ProductEventFactory("CORPORATE_CALL_SOURCE", corporateTimes, ProductType.CORPORATE)
@@ -67,6 +91,26 @@ public class TestSimulator {
             public IQueue[] getQueues() {
                 return new IQueue[0];
             }
+
+            @Override
+            public EventListType getEventListType() {
+                return EventListType.HEAP;
+            }
+
+            @Override
+            public RandomStreams getRandomStreams() {
+                return new RandomStreams(0);
+            }
+
+            @Override
+            public SinkType getSinkType() {
+                return SinkType.PRODUCTS;
+            }
+
+            @Override
+            public boolean isEventLoopInstrumented() {
+                return false;
+            }
         };
 
         Simulator sim = new Simulator(config, new AbstractEventProcessor() {
@@ -115,4 +159,201 @@ public class TestSimulator {
         assertEquals(21600,events[2].getExecutionTime());
     }
 
+    @Test
+    void testRegisterListener() {
+        final int[] count = new int[1];
+
+        EventProcessor processor = new EventProcessor(new NoStrategy());
+        processor.register(EventType.MACHINE_STARTED, event -> count[0]++);
+
+        new Simulator(new DefaultSimConfig(), processor).run();
+
+        // every agent is started once per day except the night shift which starts twice
+        assertEquals(ScheduleConfig.MORNING_CONSUMER_AGENTS + ScheduleConfig.MORNING_CORPORATE_AGENTS +
+                ScheduleConfig.NOON_CONSUMER_AGENTS + ScheduleConfig.NOON_CORPORATE_AGENTS +
+                2 * (ScheduleConfig.NIGHT_CONSUMER_AGENTS + ScheduleConfig.NIGHT_CORPORATE_AGENTS), count[0]);
+    }
+
+    @Test
+    void testEventLoopInstrumentation() throws Exception {
+        final int[] count = new int[2];
+        EventLoopMonitor monitor = EventLoopMonitor.getInstance();
+        monitor.reset();
+
+        EventProcessor processor = new EventProcessor(SimulationConfig.strategy, EventListType.HEAP.create(), new RandomStreams(1), SinkType.PRODUCTS, monitor);
+        processor.register(EventType.MACHINE_STARTED, event -> {
+            // listeners registered while the loop runs are called, just not timed
+            if (count[0]++ == 0)
+                processor.register(EventType.PRODUCTION_FINISHED, finished -> count[1]++);
+        });
+        Simulator instrumented = new Simulator(DefaultSimConfig.withSeed(1), processor);
+        instrumented.run();
+
+        Simulator plain = new Simulator(DefaultSimConfig.withSeed(1));
+        plain.run();
+
+        // instrumenting the loop does not change the outcome of the day
+        assertEquals(plain.consumerAnalysis().count(), instrumented.consumerAnalysis().count());
+        assertEquals(plain.consumerAnalysis().avgDailyQueueTime(), instrumented.consumerAnalysis().avgDailyQueueTime());
+        assertTrue(count[1] > 0);
+        assertEquals(0, monitor.getEventListSize());
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(EventLoopMonitor.OBJECT_NAME);
+
+        long processed = (Long) server.getAttribute(name, "EventsProcessed");
+        long perType = 0;
+        for (long events : monitor.getEventsProcessedPerType().values()) {
+            perType += events;
+        }
+
+        assertTrue(processed > instrumented.consumerAnalysis().count());
+        assertEquals(processed, perType);
+        assertEquals(count[0], (long) monitor.getEventsProcessedPerType().get("MACHINE_STARTED"));
+        assertTrue(monitor.getPeakEventListSize() > 0);
+        assertTrue((Double) server.getAttribute(name, "SimulatedToWallClockRatio") > 1);
+
+        // every call of the counting listener is in its latency histogram
+        Map<String, long[]> histograms = monitor.getListenerLatencyHistograms();
+        long calls = 0;
+        for (Map.Entry<String, long[]> histogram : histograms.entrySet()) {
+            if (histogram.getKey().startsWith("MACHINE_STARTED/TestSimulator"))
+                for (long frequency : histogram.getValue()) {
+                    calls += frequency;
+                }
+        }
+        assertEquals(count[0], calls);
+    }
+
+    @Test
+    void testIndependentReplications() {
+        Simulator[] simulators = new ReplicationRunner(new DefaultSimConfig(4), 2).run();
+
+        assertEquals(4, simulators.length);
+        for (Simulator sim : simulators) {
+            assertTrue(sim.isExecuted());
+            assertTrue(sim.consumerAnalysis().count() > 0);
+        }
+    }
+
+    @Test
+    void testSeededReplicationsAreReproducible() {
+        Simulator[] first = new ReplicationRunner(new DefaultSimConfig(3), 3).run();
+        Simulator[] second = new ReplicationRunner(new DefaultSimConfig(3), 1).run();
+
+        for (int i = 0; i < first.length; i++) {
+            assertEquals(first[i].consumerAnalysis().count(), second[i].consumerAnalysis().count());
+            assertEquals(first[i].consumerAnalysis().totalDailyQueueTime(), second[i].consumerAnalysis().totalDailyQueueTime());
+            assertEquals(first[i].corporateAnalysis().totalDailyQueueTime(), second[i].corporateAnalysis().totalDailyQueueTime());
+            assertEquals(first[i].consumerAnalysis().getAvgProductionTime(), second[i].consumerAnalysis().getAvgProductionTime());
+            assertEquals(first[i].corporateAnalysis().getAvgProductionTime(), second[i].corporateAnalysis().getAvgProductionTime());
+        }
+
+        assertTrue(first[0].consumerAnalysis().totalDailyQueueTime() != first[1].consumerAnalysis().totalDailyQueueTime());
+    }
+
+    @Test
+    void testAggregatorMatchesDailyAnalyses() {
+        Simulator[] simulators = new ReplicationRunner(new DefaultSimConfig(3), 1).run();
+
+        SinkAnalysisAggregator aggregator = new SinkAnalysisAggregator("Consumer");
+        double[] probabilities = new double[simulators.length];
+        double[] arrivals = new double[24];
+        double within = 0;
+        for (int i = 0; i < simulators.length; i++) {
+            SinkAnalysis analysis = simulators[i].consumerAnalysis();
+            aggregator.add(analysis);
+
+            probabilities[i] = analysis.probabilityOfQueueTimeLessThan(300);
+            within += analysis.probabilityOfQueueTimeLessThan(60, 9 * 3600, 17 * 3600) / simulators.length;
+            for (int h = 0; h < 24; h++) {
+                arrivals[h] += analysis.arrivalsPerHour()[h] / simulators.length;
+            }
+        }
+
+        // the days are not kept, every query is answered from what was folded in when they were added
+        TConfInterval interval = new TConfInterval(probabilities, 0.95);
+        double[] probability = aggregator.avgProbabilityQueueTimeLessThanWithConfidence(300, 0, SimulationConfig.SIMULATION_RUNTIME, 0.95);
+        assertEquals(3, aggregator.count());
+        assertEquals(interval.sampleMean(), probability[2], 1e-12);
+        assertEquals(interval.upperBound(), probability[1], 1e-12);
+        assertEquals(within, aggregator.avgProbabilityQueueTimeLessThan(60, 9 * 3600, 17 * 3600), 1e-12);
+        assertArrayEquals(arrivals, aggregator.avgArrivalsPerHour(), 1e-9);
+        assertEquals(simulators[1].consumerAnalysis().getAvgProductionTime() / 3, aggregator.avgServiceTimesPerSimulation()[1], 1e-12);
+    }
+
+    @Test
+    void testStrategyRandomStreamIsAssigned() {
+        CorporateQueueSwarmStrategy strategy = new CorporateQueueSwarmStrategy();
+        assertThrows(RuntimeException.class, strategy::sampleConsumerServiceTime);
+
+        strategy.setRandomStream(new SplittableRandom(7));
+        double expected = strategy.sampleConsumerServiceTime();
+
+        // a copy does not draw from a stream of its own until the simulation assigns one
+        CorporateQueueSwarmStrategy copy = (CorporateQueueSwarmStrategy) strategy.copy();
+        assertThrows(RuntimeException.class, copy::sampleConsumerServiceTime);
+
+        copy.setRandomStream(new SplittableRandom(7));
+        assertEquals(expected, copy.sampleConsumerServiceTime());
+    }
+
+    @Test
+    void testProductTrace() {
+        Product product = new Product(ProductType.CONSUMER);
+        product.stamp(1.0, StampType.CREATED, "CONSUMER_SOURCE");
+        product.stamp(2.0, StampType.IN_PRODUCTION, "MORNING_CONSUMER_0");
+        product.stamp(3.0, StampType.FINISHED_PRODUCTION, "MORNING_CONSUMER_0");
+        product.stamp(4.0, StampType.FINISHED_PRODUCTION, "MORNING_CONSUMER_1");
+
+        assertEquals(4, product.getStampCount());
+        assertEquals(2.0, product.getTime(1));
+        assertEquals(StampType.IN_PRODUCTION, product.getEvent(1));
+        assertEquals("MORNING_CONSUMER_1", product.getStation(3));
+        assertEquals(product.getStationId(1), product.getStationId(2));
+
+        Sink sink = new Sink("sink");
+        sink.giveProduct(product);
+
+        assertArrayEquals(new double[]{1.0, 2.0, 3.0, 4.0}, sink.getTimes());
+        assertArrayEquals(new String[]{"CREATED", "IN_PRODUCTION", "FINISHED_PRODUCTION", "FINISHED_PRODUCTION"}, sink.getEvents());
+        assertArrayEquals(product.getStationsAsArray(), sink.getStations());
+
+        assertEquals(4, sink.count());
+        assertEquals(4, sink.getTimesView().remaining());
+        assertEquals(3.0, sink.getTimesView().get(2));
+        assertEquals(1, sink.getNumbersView().get(3));
+        assertEquals(StampType.IN_PRODUCTION.getId(), sink.getEventsView().get(1));
+        assertEquals(product.getStationId(3), sink.getStationsView().get(3));
+    }
+
+    @Test
+    void testStatisticsSinkMatchesProductSink() {
+        // the default strategy is shared, so the simulations have to be created and run one after the other
+        Simulator products = new Simulator(DefaultSimConfig.withSeed(11));
+        products.run();
+
+        DefaultSimConfig config = new DefaultSimConfig() {
+            @Override
+            public SinkType getSinkType() {
+                return SinkType.STATISTICS;
+            }
+        };
+        config.setSeed(11);
+
+        Simulator statistics = new Simulator(config);
+        statistics.run();
+
+        SinkAnalysis expected = products.consumerAnalysis();
+        SinkAnalysis actual = statistics.consumerAnalysis();
+
+        assertTrue(actual.isStreaming());
+        assertEquals(expected.count(), actual.count());
+        assertEquals(expected.totalDailyQueueTime(), actual.totalDailyQueueTime(), 1e-6);
+        assertArrayEquals(expected.arrivalsPerMinute(), actual.arrivalsPerMinute());
+        assertArrayEquals(expected.avgQueueTimePerHour(), actual.avgQueueTimePerHour(), 1e-9);
+        assertArrayEquals(expected.getAvgProductionTimeFrequencies(), actual.getAvgProductionTimeFrequencies());
+        assertEquals(expected.probabilityOfQueueTimeLessThan(300), actual.probabilityOfQueueTimeLessThan(300), 1e-12);
+        assertEquals(expected.probabilityOfQueueTimeLessThan(60, 9 * 3600, 17 * 3600), actual.probabilityOfQueueTimeLessThan(60, 9 * 3600, 17 * 3600), 1e-12);
+    }
 }
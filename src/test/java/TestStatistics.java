@@ -1,16 +1,30 @@
 import configs.ArrivalRatesConfig;
 import configs.SimulationConfig;
 import contracts.Distribution;
+import contracts.DoubleDistribution;
+import contracts.IntDistribution;
 import factories.ConsumerArrivalTimeFactory;
 import factories.CorporateArrivalTimeFactory;
+import factories.ServiceTimeFactory;
 import org.junit.jupiter.api.Test;
+import statistics.ChiSquaredTest;
+import statistics.LeftTruncatedNormalDistribution;
 import statistics.NormalDistribution;
 import statistics.PoissonDistribution;
+import statistics.RunningStatistics;
+import statistics.SpecialFunctions;
+import statistics.StreamingFitTest;
+import statistics.StudentT;
+import statistics.TConfInterval;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestStatistics {
 
@@ -34,6 +48,52 @@ public class TestStatistics {
         assertEquals(mean, bd.doubleValue());
     }
 
+    @Test
+    void testPoissonSamplerForAnyMean() {
+        PoissonDistribution distribution = new PoissonDistribution(0, new SplittableRandom(3));
+        int sampleSize = 1000000;
+
+        // inversion below the threshold, transformed rejection from it on, and means that underflow exp(-mean)
+        for (double mean : new double[]{0.3, 4.5, 10, 37.5, 800, 20000}) {
+            RunningStatistics statistics = new RunningStatistics();
+            for (int i = 0; i < sampleSize; i++) {
+                statistics.add(distribution.nextInt(mean));
+            }
+
+            assertEquals(mean, statistics.mean(), 5 * Math.sqrt(mean / sampleSize));
+            assertEquals(mean, statistics.variance(), 0.01 * mean);
+        }
+
+        // 37.5 is sampled with transformed rejection, compare the frequencies of 15 up to 60 with the probability mass
+        int from = 15;
+        int bins = 46;
+        double[] observed = new double[bins];
+        double[] expected = new double[bins];
+        double mean = 37.5;
+
+        for (int i = 0; i < sampleSize; i++) {
+            int k = distribution.nextInt(mean);
+            if (k >= from && k < from + bins)
+                observed[k - from]++;
+        }
+        double total = 0;
+        for (double frequency : observed) {
+            total += frequency;
+        }
+
+        double mass = 0;
+        for (int k = from; k < from + bins; k++) {
+            mass += Math.exp(-mean + k * Math.log(mean) - SpecialFunctions.logGamma(k + 1));
+        }
+        for (int k = from; k < from + bins; k++) {
+            expected[k - from] = total * Math.exp(-mean + k * Math.log(mean) - SpecialFunctions.logGamma(k + 1)) / mass;
+        }
+
+        // 45 degrees of freedom, 99.9% quantile is 80.08
+        double chi = new ChiSquaredTest().chiSquare(expected, observed);
+        assertTrue(chi < 80.08, "chi square " + chi);
+    }
+
     @Test
     void testNormalDistribution() {
         double mean = 5.00;
@@ -54,6 +114,110 @@ public class TestStatistics {
         assertEquals(mean, bd.doubleValue());
     }
 
+    @Test
+    void testZigguratMatchesPolarMethod() {
+        int bins = 40;
+        int sampleSize = 1000000;
+        int referenceFactor = 10;
+
+        // 40 bins of width 0.2 over [-4, 4), the outer bins take the rest of the tails
+        double[] observed = new double[bins];
+        NormalDistribution distribution = new NormalDistribution(0, 1, new SplittableRandom(11));
+        for (int i = 0; i < sampleSize; i++) {
+            observed[bin(distribution.nextDouble(), bins)]++;
+        }
+
+        double[] expected = new double[bins];
+        SplittableRandom rng = new SplittableRandom(13);
+        for (int i = 0; i < sampleSize * referenceFactor; i += 2) {
+            double u, v, s;
+            do {
+                u = 2 * rng.nextDouble() - 1;
+                v = 2 * rng.nextDouble() - 1;
+                s = u * u + v * v;
+            } while (s >= 1 || s == 0);
+
+            double multiplier = Math.sqrt(-2 * Math.log(s) / s);
+            expected[bin(u * multiplier, bins)] += 1.0 / referenceFactor;
+            expected[bin(v * multiplier, bins)] += 1.0 / referenceFactor;
+        }
+
+        // 39 degrees of freedom, 99.9% quantile is 72.05, inflated by the reference sample's own variance
+        double chi = new ChiSquaredTest().chiSquare(expected, observed);
+        assertTrue(chi < 72.05 * (1 + 1.0 / referenceFactor), "chi square " + chi);
+    }
+
+    private static int bin(double value, int bins) {
+        return Math.max(0, Math.min(bins - 1, (int) Math.floor((value + 4) / 0.2)));
+    }
+
+    @Test
+    void testPrimitiveSampling() {
+        DoubleDistribution serviceTime = new LeftTruncatedNormalDistribution(72, 35, 25, new SplittableRandom(7));
+        DoubleDistribution replay = new LeftTruncatedNormalDistribution(72, 35, 25, new SplittableRandom(7));
+
+        double[] buffer = new double[1005];
+        serviceTime.fill(buffer, 5, 1000);
+
+        assertEquals(0.0, buffer[4]);
+        for (int i = 5; i < buffer.length; i++) {
+            assertTrue(buffer[i] >= 25);
+            assertEquals(replay.nextDouble(), buffer[i]);
+        }
+
+        IntDistribution arrivals = new PoissonDistribution(3, new SplittableRandom(7));
+        IntDistribution arrivalsReplay = new PoissonDistribution(3, new SplittableRandom(7));
+
+        int[] counts = new int[100];
+        arrivals.fill(counts, 0, counts.length);
+        for (int count : counts) {
+            assertEquals(arrivalsReplay.nextInt(), count);
+        }
+    }
+
+    @Test
+    void testTruncatedNormalTail() {
+        // truncated far into the tail, plain rejection would need about a billion draws per sample
+        double[] samples = new ServiceTimeFactory(0, 1, 6, new SplittableRandom(7)).build(100000);
+
+        RunningStatistics statistics = new RunningStatistics();
+        for (double sample : samples) {
+            assertTrue(sample >= 6);
+            statistics.add(sample);
+        }
+
+        // mean of a standard normal truncated at a is phi(a) / (1 - Phi(a))
+        assertEquals(6.1585, statistics.mean(), 0.005);
+
+        // just past the threshold for the exponential proposal
+        RunningStatistics nearTail = new RunningStatistics();
+        for (double sample : new ServiceTimeFactory(0, 1, 1, new SplittableRandom(7)).build(100000)) {
+            nearTail.add(sample);
+        }
+        assertEquals(1.5251, nearTail.mean(), 0.01);
+    }
+
+    @Test
+    void testTruncatedNormalCdfDeepInTheTail() {
+        // at 10 standard deviations the lower distribution function is 1 in double precision
+        LeftTruncatedNormalDistribution distribution = new LeftTruncatedNormalDistribution(0, 1, 10, new SplittableRandom(7));
+
+        assertEquals(0, distribution.cdf(9.5));
+        assertEquals(0, distribution.cdf(10), 1e-12);
+        assertEquals(1, distribution.cdf(40), 1e-12);
+
+        // Q(z) / Q(10) through the asymptotic series of the Mills ratio Q(z) / phi(z)
+        for (double z = 10.05; z < 11; z += 0.1) {
+            double expected = 1 - Math.exp(-(z * z - 100) / 2) * millsRatio(z) / millsRatio(10);
+            assertEquals(expected, distribution.cdf(z), 1e-6);
+        }
+    }
+
+    private static double millsRatio(double z) {
+        double z2 = z * z;
+        return (1 - (1 - (3 - 15 / z2) / z2) / z2) / z;
+    }
+
     @Test
     void testCorporateInterArrivalTimeGeneration() {
         double avgTotalArrivalsIn24h = 0;
@@ -79,6 +243,29 @@ public class TestStatistics {
 
     }
 
+    @Test
+    void testCorporateArrivalsFollowHourlyRates() {
+        double[] ranges = ArrivalRatesConfig.CORPORATE_AVG_ARRIVAL_RATE_RANGE;
+        CorporateArrivalTimeFactory factory = new CorporateArrivalTimeFactory(ranges, SimulationConfig.SIMULATION_RUNTIME);
+        SplittableRandom rng = new SplittableRandom(42);
+
+        int iterations = 20000;
+        double[] perHour = new double[24];
+
+        for (int i = 0; i < iterations; i++) {
+            double[] arrivals = factory.sampleArrivalRates(rng);
+            for (int j = 0; j < arrivals.length; j++) {
+                if (j > 0)
+                    assertTrue(arrivals[j] > arrivals[j - 1]);
+                perHour[(int) (arrivals[j] / 3600)]++;
+            }
+        }
+
+        for (int h = 0; h < 24; h++) {
+            assertEquals(60 * ranges[h], perHour[h] / iterations, 0.25);
+        }
+    }
+
     @Test
     void testConsumerInterArrivalTimeGeneration() {
         int avgTotalArrivalsIn24h = ((int) ArrivalRatesConfig.CONSUMER_AVG_MINUTE_ARRIVAL_RATE) * (60 * 24);
@@ -100,6 +287,128 @@ public class TestStatistics {
         assertEquals(avgTotalArrivalsIn24h, (int) Math.round(avg));
     }
 
+    @Test
+    void testConsumerArrivalsFollowSinusoid() {
+        ConsumerArrivalTimeFactory factory = new ConsumerArrivalTimeFactory(
+                ArrivalRatesConfig.CONSUMER_AVG_MINUTE_ARRIVAL_RATE,
+                ArrivalRatesConfig.CONSUMER_ARRIVAL_RATE_PERIOD,
+                ArrivalRatesConfig.CONSUMER_ARRIVAL_LOWEST_MINUTE_VALUE,
+                ArrivalRatesConfig.CONSUMER_ARRIVAL_LOWEST_HOUR
+        );
+        SplittableRandom rng = new SplittableRandom(42);
+
+        int iterations = 5000;
+        double[] perHour = new double[24];
+
+        for (int i = 0; i < iterations; i++) {
+            for (double arrival : factory.sampleArrivalRates(rng)) {
+                perHour[(int) (arrival / 3600)]++;
+            }
+        }
+
+        for (int h = 0; h < 24; h++) {
+            double expected = 0;
+            for (int t = h * 3600; t < (h + 1) * 3600; t++) {
+                expected += factory.getRate(t + 0.5);
+            }
+            assertEquals(expected, perHour[h] / iterations, 1.0);
+        }
+    }
+
+    @Test
+    void testExpectedFrequenciesFromClosedForms() {
+        ConsumerArrivalTimeFactory consumer = new ConsumerArrivalTimeFactory(
+                ArrivalRatesConfig.CONSUMER_AVG_MINUTE_ARRIVAL_RATE,
+                ArrivalRatesConfig.CONSUMER_ARRIVAL_RATE_PERIOD,
+                ArrivalRatesConfig.CONSUMER_ARRIVAL_LOWEST_MINUTE_VALUE,
+                ArrivalRatesConfig.CONSUMER_ARRIVAL_LOWEST_HOUR
+        );
+        CorporateArrivalTimeFactory corporate = new CorporateArrivalTimeFactory(ArrivalRatesConfig.CORPORATE_AVG_ARRIVAL_RATE_RANGE);
+
+        double consumerDay = 0;
+        double corporateDay = 0;
+        for (int minute = 0; minute < 24 * 60; minute++) {
+            double sum = 0;
+            for (int t = 60 * minute; t < 60 * (minute + 1); t++) {
+                sum += consumer.getRate(t + 0.5);
+            }
+
+            assertEquals(sum, consumer.expectedArrivals(60 * minute, 60 * (minute + 1)), 1e-4);
+            consumerDay += consumer.expectedArrivals(60 * minute, 60 * (minute + 1));
+            corporateDay += corporate.expectedArrivals(60 * minute, 60 * (minute + 1));
+        }
+
+        assertEquals(ArrivalRatesConfig.CONSUMER_AVG_MINUTE_ARRIVAL_RATE * 24 * 60, consumerDay, 1e-6);
+
+        double corporateRates = 0;
+        for (double rate : ArrivalRatesConfig.CORPORATE_AVG_ARRIVAL_RATE_RANGE) {
+            corporateRates += 60 * rate;
+        }
+        assertEquals(corporateRates, corporateDay, 1e-6);
+        assertEquals(30 * ArrivalRatesConfig.CORPORATE_AVG_ARRIVAL_RATE_RANGE[0] + 30 * ArrivalRatesConfig.CORPORATE_AVG_ARRIVAL_RATE_RANGE[1],
+                corporate.expectedArrivals(1800, 5400), 1e-9);
+
+        // standard normal table values, and a truncated distribution that starts at its truncation point
+        NormalDistribution normal = new NormalDistribution(0, 1);
+        assertEquals(0.5, normal.cdf(0), 1e-7);
+        assertEquals(0.97500, normal.cdf(1.959964), 1e-6);
+        assertEquals(0.00135, normal.cdf(-3), 1e-5);
+
+        LeftTruncatedNormalDistribution truncated = new LeftTruncatedNormalDistribution(72, 35, 25);
+        assertEquals(0, truncated.cdf(24.9));
+        assertEquals(0, truncated.cdf(25), 1e-12);
+        double above = NormalDistribution.standardTail(-47.0 / 35);
+        assertEquals((above - NormalDistribution.standardTail(0)) / above, truncated.cdf(72), 1e-9);
+        assertEquals(0.4507552, truncated.cdf(72), 1e-7);
+        assertEquals(1, truncated.cdf(1000), 1e-9);
+    }
+
+    @Test
+    void testStreamingFitTestMatchesExactStatistics() {
+        SplittableRandom rng = new SplittableRandom(5);
+        NormalDistribution normal = new NormalDistribution(0, 1, rng);
+        int n = 2000;
+
+        double[] probabilities = new double[n];
+        StreamingFitTest fit = new StreamingFitTest();
+        for (int i = 0; i < n; i++) {
+            probabilities[i] = normal.cdf(normal.nextDouble());
+            fit.add(probabilities[i]);
+        }
+
+        Arrays.sort(probabilities);
+        double ks = 0;
+        double ad = -n;
+        for (int i = 0; i < n; i++) {
+            ks = Math.max(ks, Math.max((i + 1.0) / n - probabilities[i], probabilities[i] - (double) i / n));
+            ad -= (2 * i + 1) * (Math.log(probabilities[i]) + Math.log(1 - probabilities[n - 1 - i])) / n;
+        }
+
+        assertEquals(n, fit.count());
+        assertEquals(ks, fit.kolmogorovSmirnov(), 2.0 / StreamingFitTest.BINS);
+        assertEquals(ad, fit.andersonDarling(), 0.01);
+        assertFalse(fit.rejects());
+
+        // merging two halves gives the statistics of the whole
+        StreamingFitTest first = new StreamingFitTest();
+        StreamingFitTest second = new StreamingFitTest();
+        for (int i = 0; i < n; i++) {
+            (i % 2 == 0 ? first : second).add(probabilities[i]);
+        }
+        first.merge(second);
+        assertEquals(fit.kolmogorovSmirnov(), first.kolmogorovSmirnov(), 1e-12);
+        assertEquals(fit.andersonDarling(), first.andersonDarling(), 1e-9);
+
+        // samples with a slightly larger spread than hypothesized
+        StreamingFitTest wrong = new StreamingFitTest();
+        NormalDistribution wider = new NormalDistribution(0, 1.1, rng);
+        for (int i = 0; i < 20000; i++) {
+            wrong.add(normal.cdf(wider.nextDouble()));
+        }
+        assertTrue(wrong.rejects());
+        assertTrue(wrong.andersonDarling() > StreamingFitTest.AD_CRITICAL_VALUE);
+    }
+
     @Test
     public void testConsumerSinusoidFunction() {
         ConsumerArrivalTimeFactory factory = new ConsumerArrivalTimeFactory(
@@ -119,4 +428,51 @@ public class TestStatistics {
         assertEquals(ArrivalRatesConfig.CONSUMER_AVG_MINUTE_ARRIVAL_RATE, (int) Math.round(avg));
 
     }
+
+    @Test
+    void testRunningStatistics() {
+        double[] data = {1e9 + 4, 1e9 + 7, 1e9 + 13, 1e9 + 16};
+
+        RunningStatistics statistics = new RunningStatistics();
+        for (double value : data) {
+            statistics.add(value);
+        }
+
+        // large offsets would break the naive sum of squares
+        assertEquals(4, statistics.count());
+        assertEquals(1e9 + 10, statistics.mean(), 1e-6);
+        assertEquals(30, statistics.variance(), 1e-6);
+
+        TConfInterval fromData = new TConfInterval(new double[]{2.0, 4.0, 4.0, 5.0, 7.0, 9.0}, 0.95);
+        RunningStatistics running = new RunningStatistics();
+        for (double value : new double[]{2.0, 4.0, 4.0, 5.0, 7.0, 9.0}) {
+            running.add(value);
+        }
+        TConfInterval fromStatistics = new TConfInterval(running, 0.95);
+
+        assertEquals(fromData.sampleMean(), fromStatistics.sampleMean(), 1e-12);
+        assertEquals(fromData.sampleStd(), fromStatistics.sampleStd(), 1e-12);
+        assertEquals(fromData.lowerBound(), fromStatistics.lowerBound(), 1e-12);
+        assertEquals(fromData.upperBound(), fromStatistics.upperBound(), 1e-12);
+    }
+
+    @Test
+    void testStudentTCriticalValues() {
+        // two-sided critical values from the t table
+        assertEquals(12.7062, StudentT.criticalValue(0.95, 1), 1e-4);
+        assertEquals(2.7764, StudentT.criticalValue(0.95, 4), 1e-4);
+        assertEquals(63.6567, StudentT.criticalValue(0.99, 1), 1e-4);
+        assertEquals(0.7407, StudentT.criticalValue(0.5, 4), 1e-4);
+        assertEquals(1.7247, StudentT.criticalValue(0.9, 20), 1e-4);
+        assertEquals(1.9600, StudentT.criticalValue(0.95, 1000000), 1e-4);
+        assertEquals(2.0150, StudentT.criticalValue(0.9, 5), 1e-4);
+        assertEquals(2.5706, StudentT.criticalValue(0.95, 5), 1e-4);
+        assertEquals(4.0321, StudentT.criticalValue(0.99, 5), 1e-4);
+
+        // a level the old table did not have
+        assertEquals(3.1634, StudentT.criticalValue(0.975, 5), 1e-4);
+
+        assertEquals(-StudentT.quantile(0.975, 7), StudentT.quantile(0.025, 7), 1e-12);
+        assertEquals(2.7764, new TConfInterval(new double[]{1.0, 2.0, 3.0, 4.0, 5.0}, 0.95).criticalValue(), 1e-4);
+    }
 }